@@ -4,12 +4,11 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import java.time.Duration;
 
 import utils.DriverManager;
+import utils.LocatorRegistry;
+import utils.PageObjectFactory;
+import utils.WaitEngine;
 
 /**
  * Page Object Model (POM) class representing the LambdaTest E-commerce Home Page.
@@ -17,24 +16,31 @@ import utils.DriverManager;
  */
 public class LambdaTestHomePage {
 
+    // Register the @FindBy locators of this page once, when the class is loaded
+    static {
+        LocatorRegistry.register(LambdaTestHomePage.class);
+    }
+
     // WebDriver instance for browser interactions
     private WebDriver driver;
 
-    // Explicit wait for synchronization
-    private WebDriverWait wait;
+    // Shared explicit wait engine for synchronization
+    private final WaitEngine wait = WaitEngine.getInstance();
+
+    // Timeout in seconds for menu interactions
+    private static final int TIMEOUT = 10;
 
     // Actions class for performing mouse hover and advanced user interactions
     private Actions actions;
 
     /**
-     * Constructor initializes WebDriver, WebDriverWait, Actions,
-     * and initializes web elements using PageFactory.
+     * Constructor initializes WebDriver, Actions,
+     * and initializes web elements using PageObjectFactory.
      */
     public LambdaTestHomePage() {
         driver = DriverManager.getDriver();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         this.actions = new Actions(driver);
-        PageFactory.initElements(driver, this);
+        PageObjectFactory.initElements(driver, this);
     }
 
     // ====== Web Elements (Page Locators) ======
@@ -64,7 +70,7 @@ public class LambdaTestHomePage {
      * Hovers over the "My Account" dropdown menu to display account options.
      */
     public void hoverOverMyAccountMenu() {
-        wait.until(ExpectedConditions.elementToBeClickable(myAccount));
+        wait.until(driver, WaitEngine.clickable(myAccount), TIMEOUT, "My account menu");
         actions.moveToElement(myAccount).perform();
     }
 
@@ -72,7 +78,7 @@ public class LambdaTestHomePage {
      * Clicks on the iMac image from the homepage.
      */
     public void clickImacImage() {
-        wait.until(ExpectedConditions.elementToBeClickable(imacImage));
+        wait.until(driver, WaitEngine.clickable(imacImage), TIMEOUT, "iMac image");
         actions.moveToElement(imacImage).perform();
         imacImage.click();
     }
@@ -81,7 +87,7 @@ public class LambdaTestHomePage {
      * Hovers over the "Mega Menu" section.
      */
     public void hoverOverMegaMenu() {
-        wait.until(ExpectedConditions.elementToBeClickable(megaMenu));
+        wait.until(driver, WaitEngine.clickable(megaMenu), TIMEOUT, "Mega Menu");
         actions.moveToElement(megaMenu).perform();
     }
 
@@ -91,8 +97,7 @@ public class LambdaTestHomePage {
     public void clickRegisterLink() {
         // Hover again to ensure the dropdown is open
         actions.moveToElement(myAccount).perform();
-        wait.until(ExpectedConditions.visibilityOf(registerLink));
-        wait.until(ExpectedConditions.elementToBeClickable(registerLink));
+        wait.until(driver, WaitEngine.clickable(registerLink), TIMEOUT, "Register link");
         registerLink.click();
     }
 
@@ -103,7 +108,7 @@ public class LambdaTestHomePage {
         // Hover again to ensure the dropdown is open
         actions.moveToElement(myAccount).perform();
         // Wait until Login link is clickable and click it
-        WebElement login = wait.until(ExpectedConditions.elementToBeClickable(loginLink));
+        WebElement login = wait.until(driver, WaitEngine.clickable(loginLink), TIMEOUT, "Login link");
         login.click();
     }
 
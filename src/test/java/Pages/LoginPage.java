@@ -2,12 +2,12 @@ package Pages;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.CacheLookup;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
-import utils.ConfigReader;
+import utils.FrameworkConfig;
 import utils.DriverManager;
+import utils.LocatorRegistry;
+import utils.PageObjectFactory;
 import utils.TestBase;
 
 /**
@@ -17,6 +17,11 @@ import utils.TestBase;
  */
 public class LoginPage {
 
+    // Register the @FindBy locators of this page once, when the class is loaded
+    static {
+        LocatorRegistry.register(LoginPage.class);
+    }
+
     // WebDriver instance for interacting with the browser
     private WebDriver driver;
 
@@ -24,52 +29,43 @@ public class LoginPage {
     private TestBase testBase;
 
     /**
-     * Constructor initializes WebDriver and PageFactory elements.
+     * Constructor initializes WebDriver and page elements via PageObjectFactory.
      */
     public LoginPage() {
         driver = DriverManager.getDriver();
         testBase = new TestBase();
-        PageFactory.initElements(driver, this);
+        PageObjectFactory.initElements(driver, this);
     }
 
     // ====== Web Elements ======
-    // Using @CacheLookup for static elements to improve performance.
-    // Avoid using @CacheLookup on dynamic elements that may reload or change during runtime.
+    // Elements are cached by PageObjectFactory until the next navigation, click or submit,
+    // so @CacheLookup is not needed (and would keep stale elements after a re-render).
 
     @FindBy(css = "input[name='email']")
-    @CacheLookup
     private WebElement emailInput;
 
     @FindBy(css = "input[name='password']")
-    @CacheLookup
     private WebElement passwordInput;
 
     @FindBy(css = "input[value='Login']")
-    @CacheLookup
     private WebElement loginButton;
 
     @FindBy(linkText = "Logout")
-    @CacheLookup
     private WebElement logoutLink;
 
     @FindBy(xpath = "//h2[text()='My Account']")
-    @CacheLookup
     private WebElement myAccountHeader;
 
     @FindBy(css = ".alert.alert-danger.alert-dismissible")
-    @CacheLookup
     private WebElement loginErrorMessage;
 
     @FindBy(xpath = "//a[contains(@class,'list-group-item') and contains(text(),'Edit Account')]")
-    @CacheLookup
     private WebElement editAccountLink;
 
     @FindBy(xpath = "//*[@class='card-header h5']")
-    @CacheLookup
     private WebElement myAccountHeaderText;
 
     @FindBy(css = "div.alert.alert-danger.alert-dismissible")
-    @CacheLookup
     private WebElement invalidLoginWarning;
 
 
@@ -85,7 +81,7 @@ public class LoginPage {
             emailInput,
             email,
             "Email entered in email input field",
-            Integer.parseInt(ConfigReader.get("timeoutInSeconds"))
+            FrameworkConfig.current().timeoutInSeconds()
         );
     }
 
@@ -99,7 +95,7 @@ public class LoginPage {
             passwordInput,
             password,
             "Password entered in password input field",
-            Integer.parseInt(ConfigReader.get("timeoutInSeconds"))
+            FrameworkConfig.current().timeoutInSeconds()
         );
     }
 
@@ -111,7 +107,7 @@ public class LoginPage {
             loginButton,
             "Clicks on Login button",
             true,
-            Integer.parseInt(ConfigReader.get("timeoutInSeconds"))
+            FrameworkConfig.current().timeoutInSeconds()
         );
     }
 
@@ -123,7 +119,7 @@ public class LoginPage {
             logoutLink,
             "Clicks on logout button",
             true,
-            Integer.parseInt(ConfigReader.get("timeoutInSeconds"))
+            FrameworkConfig.current().timeoutInSeconds()
         );
     }
 
@@ -136,7 +132,7 @@ public class LoginPage {
             myAccountHeaderText,
             "My Account\r\n",
             "Verifying success login",
-            Integer.parseInt(ConfigReader.get("timeoutInSeconds"))
+            FrameworkConfig.current().timeoutInSeconds()
         );
     }
 
@@ -149,7 +145,7 @@ public class LoginPage {
             invalidLoginWarning,
             "Warning: No match for E-Mail Address and/or Password.\r\n",
             "Verifying invalid login message",
-            Integer.parseInt(ConfigReader.get("timeoutInSeconds"))
+            FrameworkConfig.current().timeoutInSeconds()
         );
     }
 }
@@ -1,7 +1,8 @@
 package Pages;
 
-import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
@@ -9,13 +10,15 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.CacheLookup;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 
-import utils.ConfigReader;
+import utils.FrameworkConfig;
+import utils.LocatorRegistry;
+import utils.PageObjectFactory;
 import utils.TestBase;
+import utils.WaitEngine;
 
 /**
  * RegisterPage class represents the "Register Account" page of the application.
@@ -35,16 +38,23 @@ import utils.TestBase;
  */
 public class RegisterPage {
 
+    private static final Logger logger = LoggerFactory.getLogger(RegisterPage.class);
+
+    // Register the @FindBy locators of this page once, when the class is loaded
+    static {
+        LocatorRegistry.register(RegisterPage.class);
+    }
+
     private WebDriver driver;
     private TestBase testBase;
 
     /**
-     * Constructor initializes WebDriver instance and PageFactory elements.
+     * Constructor initializes WebDriver instance and page elements via PageObjectFactory.
      */
     public RegisterPage() {
         driver = utils.DriverManager.getDriver();
         testBase = new TestBase();
-        PageFactory.initElements(driver, this);
+        PageObjectFactory.initElements(driver, this);
     }
 
     // ===========================
@@ -108,7 +118,18 @@ public class RegisterPage {
     private WebElement errorMessages;
 
     // Common timeout value from config.properties
-    private final int timeout = Integer.parseInt(ConfigReader.get("timeoutInSeconds"));
+    private final int timeout = FrameworkConfig.current().timeoutInSeconds();
+
+    // Whether bulk form fills read all values back to confirm they stuck
+    private final boolean verifyBulkFill = FrameworkConfig.current().verifyBulkFormFill();
+
+    // CSS selectors of the registration fields, used by the single-call bulk fill
+    private static final String FIRST_NAME_FIELD = "input[name='firstname']";
+    private static final String LAST_NAME_FIELD = "input[name='lastname']";
+    private static final String EMAIL_FIELD = "input[name='email']";
+    private static final String TELEPHONE_FIELD = "input[name='telephone']";
+    private static final String PASSWORD_FIELD = "input[name='password']";
+    private static final String CONFIRM_FIELD = "input[name='confirm']";
 
     // ===========================
     // Actions / Page Methods
@@ -165,30 +186,67 @@ public class RegisterPage {
         testBase.clickElement(logoutLink, "Clicks on logout link", true, timeout);
     }
 
+    /**
+     * Fills all six registration fields in one executeScript round trip instead of
+     * clearing and typing each field. Fields whose value did not stick are typed
+     * again the regular way.
+     */
+    public void fillRegistrationForm(String firstName, String lastName, String email,
+                                     String telephone, String password, String confirmPassword) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put(FIRST_NAME_FIELD, firstName);
+        values.put(LAST_NAME_FIELD, lastName);
+        values.put(EMAIL_FIELD, email);
+        values.put(TELEPHONE_FIELD, telephone);
+        values.put(PASSWORD_FIELD, password);
+        values.put(CONFIRM_FIELD, confirmPassword);
+
+        List<String> mismatched = testBase.fillFieldsWithScript(values, verifyBulkFill, "registration form", timeout);
+        for (String selector : mismatched) {
+            typeField(selector, values.get(selector));
+        }
+    }
+
+    /** Types a single registration field through the regular per-field path */
+    private void typeField(String selector, String value) {
+        switch (selector) {
+            case FIRST_NAME_FIELD:
+                enterFirstName(value);
+                break;
+            case LAST_NAME_FIELD:
+                enterLastName(value);
+                break;
+            case EMAIL_FIELD:
+                enterEmail(value);
+                break;
+            case TELEPHONE_FIELD:
+                enterTelephone(value);
+                break;
+            case PASSWORD_FIELD:
+                enterPassword(value);
+                break;
+            case CONFIRM_FIELD:
+                enterConfirmPassword(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown registration field: " + selector);
+        }
+    }
+
     /**
      * Fills in valid registration details but does not click Continue.
      */
     public void enterValidRegistrationDetails(String firstName, String lastName, String email,
                                               String telephone, String password, String confirmPassword) {
-        enterFirstName(firstName);
-        enterLastName(lastName);
-        enterEmail(email);
-        enterTelephone(telephone);
-        enterPassword(password);
-        enterConfirmPassword(confirmPassword);
+        fillRegistrationForm(firstName, lastName, email, telephone, password, confirmPassword);
     }
 
     /**
      * Fills in details with an existing email to trigger duplicate email validation.
      */
-    public void enterExistingEmailDetails(String firstName, String lastName,
+    public void enterExistingEmailDetails(String firstName, String lastName, String email,
                                           String telephone, String password, String confirmPassword) {
-        enterFirstName(firstName);
-        enterLastName(lastName);
-        enterEmail("khakaalwande@gmail.com");
-        enterTelephone(telephone);
-        enterPassword(password);
-        enterConfirmPassword(confirmPassword);
+        fillRegistrationForm(firstName, lastName, email, telephone, password, confirmPassword);
     }
 
     /**
@@ -196,12 +254,8 @@ public class RegisterPage {
      */
     public void enterInvalidEmailFormatDetails(String firstName, String lastName,
                                                String telephone, String password, String confirmPassword) {
-        enterFirstName(firstName);
-        enterLastName(lastName);
-        enterEmail("khakaalwandegmail.com"); // Missing '@'
-        enterTelephone(telephone);
-        enterPassword(password);
-        enterConfirmPassword(confirmPassword);
+        fillRegistrationForm(firstName, lastName, "khakaalwandegmail.com", // Missing '@'
+                telephone, password, confirmPassword);
 
         acceptPrivacyPolicy();
         clickContinue();
@@ -247,27 +301,26 @@ public class RegisterPage {
      */
     public void areInputFieldErrorMessagesDisplayed(List<String> expectedMessages) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            List<WebElement> errorMessagesList = wait.until(
-                    ExpectedConditions.visibilityOfAllElementsLocatedBy(By.cssSelector(".text-danger")));
+            List<WebElement> errorMessagesList = WaitEngine.getInstance().until(driver,
+                    WaitEngine.allVisible(By.cssSelector(".text-danger")), 10, "field error messages");
 
             if (errorMessagesList.isEmpty()) {
-                System.out.println("No error messages found.");
+                logger.error("No error messages found.");
                 Assert.fail("No error messages found.");
             } else {
-                System.out.println("Found " + errorMessagesList.size() + " error messages.");
+                logger.info("Found {} error messages.", errorMessagesList.size());
                 for (WebElement errorMessage : errorMessagesList) {
                     String messageText = errorMessage.getText().trim();
                     if (expectedMessages.contains(messageText)) {
-                        System.out.println("Matched expected message: " + messageText);
+                        logger.info("Matched expected message: {}", messageText);
                     } else {
-                        System.out.println("Unexpected message: " + messageText);
+                        logger.error("Unexpected message: {}", messageText);
                         Assert.fail("Unexpected message: " + messageText);
                     }
                 }
             }
         } catch (Exception e) {
-            System.out.println("Exception while verifying error messages: " + e.getMessage());
+            logger.error("Exception while verifying error messages: {}", e.getMessage());
             Assert.fail("Exception while verifying error messages: " + e.getMessage());
         }
     }
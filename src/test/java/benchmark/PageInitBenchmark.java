@@ -0,0 +1,92 @@
+package benchmark;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.CacheLookup;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+
+import utils.PageObjectFactory;
+
+/**
+ * Startup benchmark comparing PageFactory.initElements with PageObjectFactory.initElements.
+ *
+ * No browser is needed: both factories only create lazy element wrappers at init time,
+ * so a SearchContext that never finds anything is enough. Run the main method from the
+ * IDE (or java -cp with the test classpath) and compare the reported numbers.
+ *
+ * Arguments: [iterations] (default 20000)
+ */
+public class PageInitBenchmark {
+
+    /** Mirrors the shape of RegisterPage: fourteen annotated element fields. */
+    static class SamplePage {
+        @FindBy(name = "firstname") WebElement firstNameInput;
+        @FindBy(name = "lastname") WebElement lastNameInput;
+        @FindBy(name = "email") WebElement emailInput;
+        @FindBy(name = "telephone") WebElement telephoneInput;
+        @FindBy(name = "password") WebElement passwordInput;
+        @FindBy(name = "confirm") WebElement confirmPasswordInput;
+        @FindBy(xpath = "//label[@for='input-agree']") WebElement privacyPolicyCheckbox;
+        @FindBy(css = "input[value='Continue']") WebElement continueButton;
+        @FindBy(xpath = "//h1[contains(text(),'Your Account Has Been Created!')]") WebElement successMessage;
+        @FindBy(xpath = "//span[normalize-space()='Logout']") WebElement logoutLink;
+        @FindBy(css = "div.alert.alert-danger.alert-dismissible") WebElement emailInvalidFormatWarning;
+        @FindBy(css = "div.alert.alert-danger.alert-dismissible") @CacheLookup WebElement privacyPolicyWarning;
+        @FindBy(css = ".text-danger") WebElement fieldValidationMessage;
+        @FindBy(css = ".text-danger") WebElement errorMessages;
+    }
+
+    private static final SearchContext NO_BROWSER = new SearchContext() {
+        @Override
+        public List<WebElement> findElements(By by) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            throw new NoSuchElementException("No browser in benchmark: " + by);
+        }
+    };
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+
+        // First call includes annotation scanning and class loading: the per-class startup cost
+        long pageFactoryCold = time(() -> PageFactory.initElements(NO_BROWSER, new SamplePage()));
+        long handleFactoryCold = time(() -> PageObjectFactory.initElements(NO_BROWSER, new SamplePage()));
+
+        // Warm up both paths before measuring steady state
+        run(iterations, () -> PageFactory.initElements(NO_BROWSER, new SamplePage()));
+        run(iterations, () -> PageObjectFactory.initElements(NO_BROWSER, new SamplePage()));
+
+        long pageFactoryNanos = run(iterations, () -> PageFactory.initElements(NO_BROWSER, new SamplePage()));
+        long handleFactoryNanos = run(iterations, () -> PageObjectFactory.initElements(NO_BROWSER, new SamplePage()));
+
+        System.out.println("📊 Page initialisation benchmark (" + iterations + " iterations, 14 fields)");
+        System.out.printf("   %-20s first call %8.1f µs   steady %8.2f µs/page%n",
+                "PageFactory", pageFactoryCold / 1_000.0, pageFactoryNanos / 1_000.0 / iterations);
+        System.out.printf("   %-20s first call %8.1f µs   steady %8.2f µs/page%n",
+                "PageObjectFactory", handleFactoryCold / 1_000.0, handleFactoryNanos / 1_000.0 / iterations);
+        System.out.printf("   Speed-up (steady): %.1fx%n", (double) pageFactoryNanos / handleFactoryNanos);
+    }
+
+    private static long time(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+
+    private static long run(int iterations, Runnable task) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        return System.nanoTime() - start;
+    }
+}
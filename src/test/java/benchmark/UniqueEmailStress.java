@@ -0,0 +1,150 @@
+package benchmark;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import utils.FrameworkConfig;
+import utils.UniqueIdGenerator;
+
+/**
+ * Concurrency stress check for UniqueIdGenerator.
+ *
+ * Simulates several CI shards of the same run (one generator each, sharing the runId)
+ * with many worker threads per shard, all generating emails at the same time.
+ * Every email goes into one concurrent set; the check fails if any address repeats.
+ *
+ * No browser is needed. The tests run in their own &lt;test&gt; of testng.xml with every
+ * mvn test: {@link #generatedEmailsAreUnique()} builds the shard generators directly,
+ * {@link #configuredShardsStayUnique()} derives them from shardId like the real run does.
+ * All shards of one JVM share its pid, as CI containers often do. The main method runs a heavier load and, for
+ * comparison, the old firstName + currentTimeMillis scheme; it exits with status 1
+ * when a duplicate is found.
+ *
+ * Arguments of main: [shards] [threadsPerShard] [emailsPerThread] (default 4 8 50000)
+ */
+public class UniqueEmailStress {
+
+    @Test
+    public void generatedEmailsAreUnique() throws InterruptedException {
+        int shards = 4;
+        int threadsPerShard = 8;
+        int emailsPerThread = 5_000;
+
+        Set<String> emails = ConcurrentHashMap.newKeySet();
+        generate(shards, threadsPerShard, emailsPerThread, emails);
+
+        Assert.assertEquals(emails.size(), shards * threadsPerShard * emailsPerThread,
+            "Distinct emails generated by " + shards + " shards x " + threadsPerShard + " threads");
+    }
+
+    @Test
+    public void configuredShardsStayUnique() throws InterruptedException {
+        // Shard ids that collided when non-alphanumeric characters were stripped, or when "p" joined shard and pid
+        String[] shardIds = {"1", "12", "1p2", "p", "0"};
+        UniqueIdGenerator[] generators = new UniqueIdGenerator[shardIds.length];
+        for (int shard = 0; shard < shardIds.length; shard++) {
+            generators[shard] = fromConfig(shardIds[shard]);
+        }
+
+        Set<String> emails = ConcurrentHashMap.newKeySet();
+        int threads = shardIds.length * 4;
+        int emailsPerThread = 2_000;
+        run(threads, emailsPerThread, worker -> generators[worker % generators.length].nextEmail("Ressie"), emails);
+
+        Assert.assertEquals(emails.size(), threads * emailsPerThread, "Distinct emails of configured shards");
+    }
+
+    @Test
+    public void shardIdsThatWouldBeStrippedAreRejected() {
+        for (String shardId : new String[] {"1-2", "shard 3", "A"}) {
+            Assert.assertThrows(IllegalArgumentException.class, () -> fromConfig(shardId));
+        }
+    }
+
+    // The generator a JVM of the given shard would use, with every shard in the same run
+    private static UniqueIdGenerator fromConfig(String shardId) {
+        FrameworkConfig.overrideForCurrentThread(Map.of("runId", "stressrun", "shardId", shardId));
+        try {
+            return UniqueIdGenerator.fromConfig(FrameworkConfig.current());
+        } finally {
+            FrameworkConfig.clearThreadOverrides();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int shards = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int threadsPerShard = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int emailsPerThread = args.length > 2 ? Integer.parseInt(args[2]) : 50_000;
+
+        long expected = (long) shards * threadsPerShard * emailsPerThread;
+        Set<String> emails = ConcurrentHashMap.newKeySet((int) expected);
+        long nanos = generate(shards, threadsPerShard, emailsPerThread, emails);
+
+        System.out.printf("UniqueIdGenerator : %,d emails from %d shards x %d threads in %d ms (%,.0f emails/s)%n",
+            expected, shards, threadsPerShard, nanos / 1_000_000, expected / (nanos / 1e9));
+        System.out.printf("Duplicates        : %,d%n", expected - emails.size());
+
+        // Old scheme from TestDataManager, same load
+        Set<String> legacyEmails = ConcurrentHashMap.newKeySet((int) expected);
+        run(shards * threadsPerShard, emailsPerThread,
+            worker -> "ressie" + System.currentTimeMillis() + "@mail.com", legacyEmails);
+        System.out.printf("Legacy millis     : %,d duplicates out of %,d%n", expected - legacyEmails.size(), expected);
+
+        if (emails.size() != expected) {
+            System.out.println("❌ UniqueIdGenerator produced duplicate emails");
+            System.exit(1);
+        }
+        System.out.println("✅ All generated emails are unique");
+    }
+
+    // One generator per shard, all sharing the runId like the shards of one CI run
+    private static long generate(int shards, int threadsPerShard, int emailsPerThread, Set<String> sink)
+            throws InterruptedException {
+        UniqueIdGenerator[] generators = new UniqueIdGenerator[shards];
+        for (int shard = 0; shard < shards; shard++) {
+            generators[shard] = new UniqueIdGenerator("stressrun", shard + ".1");
+        }
+        return run(shards * threadsPerShard, emailsPerThread,
+            worker -> generators[worker % shards].nextEmail("Ressie"), sink);
+    }
+
+    private interface EmailSource {
+        String next(int worker);
+    }
+
+    private static long run(int workers, int emailsPerWorker, EmailSource source, Set<String> sink)
+            throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int worker = 0; worker < workers; worker++) {
+            int id = worker;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < emailsPerWorker; i++) {
+                    sink.add(source.next(id));
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        if (!pool.awaitTermination(10, TimeUnit.MINUTES)) {
+            pool.shutdownNow();
+            throw new IllegalStateException("Email generators did not finish within 10 minutes");
+        }
+        return System.nanoTime() - begin;
+    }
+}
@@ -1,10 +1,24 @@
 package hooks;
 
+import java.nio.file.Path;
+
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import io.cucumber.java.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import utils.DriverManager;
 import utils.ExtentManager;
+import utils.LocalSiteServer;
+import utils.LogMarkers;
+import utils.ParallelExecution;
+import utils.ScenarioContext;
+import utils.ScenarioHistory;
+import utils.ScenarioLogAppender;
+import utils.ScreenshotPipeline;
+import utils.TestDataManager;
+import utils.UserDataBuffer;
+import utils.UserProvisioner;
 
 public class Hooks {
 
@@ -14,29 +28,114 @@ public class Hooks {
     public static void setupReport() {
         logger.info("🟢 Initializing Extent Report...");
         ExtentManager.getInstance();
+        // Generate registration data in the background while the first browsers start
+        UserDataBuffer.getInstance().start();
+        // Register accounts for login preconditions over HTTP, without a browser
+        UserProvisioner.provisionAtStart();
+    }
+
+    @Before(order = 0)
+    public void acquireFeatureSlot(Scenario scenario) {
+        // Only blocks in parallelMode=feature, where scenarios of one feature run serially
+        ParallelExecution.enterFeature(scenario.getUri());
+    }
+
+    @Before(order = 1)
+    public void startScenarioContext(Scenario scenario) {
+        // Started before the step classes lease a driver, so the context sees the driver
+        ScenarioContext.start(scenario.getId(), scenario.getName());
     }
 
     @Before
     public void beforeScenario(Scenario scenario) {
         logger.info("🧩 Starting Scenario: {}", scenario.getName());
-        ExtentManager.createTest(scenario.getName());
+        ScenarioContext context = ScenarioContext.current();
+        // A retried scenario gets a node per attempt
+        ExtentManager.createTest(context.getAttempt() > 1
+            ? scenario.getName() + " (attempt " + context.getAttempt() + ")" : scenario.getName());
+        context.setExtentTest(ExtentManager.getTest());
     }
 
     @After
     public void afterScenario(Scenario scenario) {
+        ScenarioContext context = ScenarioContext.current();
+        logCommandSummary(context);
         if (scenario.isFailed()) {
-            logger.error("❌ Scenario failed: {}", scenario.getName());
-            ExtentManager.getTest().fail("❌ Scenario failed: " + scenario.getName());
+            logger.error(LogMarkers.SUMMARY, "❌ Scenario failed: {}", scenario.getName());
+            context.setFailed(true);
+            // The screenshot must be taken while the scenario still holds its browser
+            attachScreenshot(scenario, context);
+            attachScenarioLog(scenario);
+            ExtentManager.endTest(Status.FAIL, "❌ Scenario failed: " + scenario.getName());
         } else {
-            logger.info("✅ Scenario passed: {}", scenario.getName());
-            ExtentManager.getTest().pass("✅ Scenario passed: " + scenario.getName());
+            logger.info(LogMarkers.SUMMARY, "✅ Scenario passed: {}", scenario.getName());
+            // Passing scenarios keep nothing of their detailed log
+            ScenarioLogAppender.discard();
+            ExtentManager.endTest(Status.PASS, "✅ Scenario passed: " + scenario.getName());
         }
+        // Hand the browser and the test user back to their pools for the next scenario
+        DriverManager.releaseDriver();
+        TestDataManager.getInstance().releaseUserData();
+    }
+
+    @After(order = 0)
+    public void finishScenario(Scenario scenario) {
+        ScenarioContext context = ScenarioContext.current();
+        ScenarioContext.end();
+        if (context != null) {
+            ScenarioHistory.record(scenario.getUri(), scenario.getName(), context.getAttempt(), !scenario.isFailed(),
+                context.getTimings().getOrDefault("scenario", 0L));
+        }
+        ParallelExecution.exitFeature(scenario.getUri());
     }
 
     @AfterAll
     public static void tearDown() {
-        logger.info("🧾 Flushing Extent Report and quitting WebDriver...");
+        logger.info("🧾 Flushing Extent Report and quitting pooled WebDrivers...");
+        // Pending screenshots are referenced by the report, so write them first
+        ScreenshotPipeline.getInstance().drain(30);
         ExtentManager.flush();
+        ScenarioHistory.flush();
         DriverManager.quitDriver();
+        UserDataBuffer.getInstance().stop();
+        LocalSiteServer.stop();
+    }
+
+    // WebDriver round trips of the scenario, the main cost on a remote grid
+    private void logCommandSummary(ScenarioContext context) {
+        if (context.getCommandCount() == 0) {
+            return;
+        }
+        StringBuilder byType = new StringBuilder();
+        context.getCommandStats().forEach((type, stats) ->
+            byType.append(byType.length() == 0 ? "" : ", ").append(type).append(' ').append(stats[0])
+                  .append(" (").append(stats[1]).append(" ms)"));
+        String summary = "🔁 " + context.getCommandCount() + " WebDriver commands: " + byType;
+        logger.info("{}", summary);
+        ExtentManager.log(Status.INFO, summary);
+    }
+
+    // Detailed log of the failed scenario only, from its in-memory buffer
+    private void attachScenarioLog(Scenario scenario) {
+        String log = ScenarioLogAppender.collect();
+        if (log == null || log.isEmpty()) {
+            return;
+        }
+        scenario.attach(log, "text/plain", scenario.getName() + " log");
+        // Shown in a textarea, which only needs & and < escaped
+        ExtentManager.log(Status.INFO, MarkupHelper.createCodeBlock(log.replace("&", "&amp;").replace("<", "&lt;")));
+    }
+
+    private void attachScreenshot(Scenario scenario, ScenarioContext context) {
+        byte[] png = ScreenshotPipeline.grab(context.getDriver());
+        if (png == null) {
+            return;
+        }
+        scenario.attach(png, "image/png", scenario.getName());
+        Path path = ScreenshotPipeline.getInstance().submit(png, scenario.getName(), context.getAttempt());
+        if (path != null) {
+            context.addAttachment(path);
+            ExtentManager.attachScreenshot(path);
+        }
     }
 }
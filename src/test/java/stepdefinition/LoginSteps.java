@@ -1,15 +1,22 @@
 package stepdefinition;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 
 import Pages.LambdaTestHomePage;
 import Pages.LoginPage;
 import io.cucumber.java.Before;
 import io.cucumber.java.en.And;
+import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
+import utils.AuthSessionCache;
 import utils.DriverManager;
 import utils.EnvironmentLoader;
+import utils.FrameworkConfig;
+import utils.PageObjectFactory;
+import utils.SessionManager;
 import utils.TestDataManager;
 
 /**
@@ -31,6 +38,8 @@ import utils.TestDataManager;
  */
 public class LoginSteps {
 
+    private static final Logger logger = LoggerFactory.getLogger(LoginSteps.class);
+
     //===============================
     // Instance Variables
     //===============================
@@ -57,13 +66,12 @@ public class LoginSteps {
         // Initialize WebDriver
         DriverManager.initializeDriver();
 
-        // Load test data from data source (JSON)
+        // Registered user, leased from the user pool on first use and released by Hooks
         userData = TestDataManager.getInstance();
-        userData.loadUserData();
 
-        // Initialize Page Objects
-        lambdaTestHomePage = new LambdaTestHomePage();
-        loginPage = new LoginPage();
+        // Page Objects are created once per browser session and reused across scenarios
+        lambdaTestHomePage = PageObjectFactory.get(LambdaTestHomePage.class);
+        loginPage = PageObjectFactory.get(LoginPage.class);
     }
 
     //===============================
@@ -77,7 +85,7 @@ public class LoginSteps {
     @When("User clicks on the Login link")
     public void user_clicks_on_the_login_link() {
         lambdaTestHomePage.clickLoginLink();
-        System.out.println("Running on BrowserStack as user: " + System.getenv("BROWSERSTACK_USERNAME"));
+        logger.debug("Running on BrowserStack as user: {}", System.getenv("BROWSERSTACK_USERNAME"));
 
     }
 
@@ -107,6 +115,24 @@ public class LoginSteps {
             loginPage.verifySuccessfulLogin(),
             "❌ My Account header is not displayed. Login may have failed."
         );
+        SessionManager.markLoggedIn();
+        AuthSessionCache.capture(userData.getEmail());
+    }
+
+    /**
+     * Step: Precondition for scenarios that need a logged-in user but do not test login itself.
+     * Restores the cached session cookies when possible and only falls back to the UI login once.
+     */
+    @Given("User is logged in")
+    public void user_is_logged_in() {
+        if (AuthSessionCache.restore(userData.getEmail())) {
+            return;
+        }
+        SessionManager.launch(FrameworkConfig.current().baseUrl() + "/index.php?route=account/login");
+        loginPage.enterEmail(userData.getEmail());
+        loginPage.enterPassword(userData.getPassword());
+        loginPage.clickLoginButton();
+        user_should_be_redirected_to_their_account_dashboard();
     }
 
     /**
@@ -3,6 +3,8 @@ package stepdefinition;
 import java.util.List;
 
 import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 
 import Pages.LambdaTestHomePage;
@@ -11,8 +13,11 @@ import io.cucumber.java.Before;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
-import utils.ConfigReader;
 import utils.DriverManager;
+import utils.FrameworkConfig;
+import utils.NavigationTracker;
+import utils.PageObjectFactory;
+import utils.SessionManager;
 import utils.TestBase;
 import utils.TestDataManager;
 
@@ -33,6 +38,8 @@ import utils.TestDataManager;
  */
 public class RegistrationSteps extends TestBase {
 
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationSteps.class);
+
     // WebDriver instance
     private WebDriver driver;
     // Manages user data for test execution (e.g., names, email, passwords)
@@ -40,31 +47,31 @@ public class RegistrationSteps extends TestBase {
     // Page Objects for Home and Register pages
     private LambdaTestHomePage lambdaTestHomePage;
     private RegisterPage registerPage;
-    // Base URL fetched from the config.properties file
-    private String baseURL = ConfigReader.get("baseUrl");
+    // Base URL fetched from the config.properties file ("local" starts the embedded site)
+    private String baseURL = FrameworkConfig.current().baseUrl();
 
     /**
      * Setup method that runs before each scenario.
-     * Initializes WebDriver and page objects, and loads test data.
+     * Initializes WebDriver and page objects.
      */
     @Before
     public void setUp() {
         DriverManager.initializeDriver();
         this.driver = DriverManager.getDriver();
         this.userData = TestDataManager.getInstance();
-        this.userData.loadUserData();
-        this.lambdaTestHomePage = new LambdaTestHomePage();
-        this.registerPage = new RegisterPage();
+        this.lambdaTestHomePage = PageObjectFactory.get(LambdaTestHomePage.class);
+        this.registerPage = PageObjectFactory.get(RegisterPage.class);
     }
 
     // ---------------------- Background Steps ----------------------
 
     /**
      * Launches the LambdaTest home page before test execution.
+     * In warm session mode the page load is skipped if the browser is already there.
      */
     @Given("User launches the lambdaTest home page")
     public void user_launches_the_lambda_test_home_page() {
-        DriverManager.launchURL(baseURL + "/index.php?route=common/home");
+        SessionManager.launch(baseURL + "/index.php?route=common/home");
     }
 
     /**
@@ -124,6 +131,10 @@ public class RegistrationSteps extends TestBase {
     public void user_should_see_a_confirmation_message_indicating_successful_registration() {
         Assert.assertTrue(registerPage.isSuccessMessageDisplayed(),
             "❌ Failed to verify register success message");
+        // Registered accounts go to the user pool for later login scenarios
+        userData.saveUserData();
+        // The site signs new accounts in straight away
+        SessionManager.markLoggedIn();
     }
 
     /**
@@ -132,17 +143,24 @@ public class RegistrationSteps extends TestBase {
     @When("User refresh the page")
     public void user_refresh_the_page() {
         driver.navigate().refresh();
+        NavigationTracker.navigated(driver);
     }
 
     /**
      * Ensures the user is logged out before starting a new scenario.
+     * In warm session mode the logged-out snapshot is restored instead of clicking Logout.
      */
     @Given("User is logged out")
     public void user_is_logged_out() {
+        if (SessionManager.isWarm()) {
+            SessionManager.ensureLoggedOut();
+            return;
+        }
         try {
             registerPage.clickLogout();
+            SessionManager.markLoggedOut();
         } catch (Exception e) {
-            System.out.println("User is not logged in. No logout needed.");
+            logger.info("User is not logged in. No logout needed.");
         }
     }
 
@@ -153,9 +171,11 @@ public class RegistrationSteps extends TestBase {
      */
     @When("User enters all the mandatory fields with an already registered email")
     public void user_enters_all_the_mandatory_fields_with_an_already_registered_email() {
+        // The leased pool user is registered already
         registerPage.enterExistingEmailDetails(
             userData.getFirstName(),
             userData.getLastName(),
+            userData.getEmail(),
             userData.getPhone(),
             userData.getPassword(),
             userData.getPassword()
@@ -178,12 +198,7 @@ public class RegistrationSteps extends TestBase {
      */
     @When("User leaves one or more mandatory fields empty")
     public void user_leaves_one_or_more_mandatory_fields_empty() {
-        registerPage.enterFirstName("");
-        registerPage.enterLastName("");
-        registerPage.enterEmail("");
-        registerPage.enterTelephone("");
-        registerPage.enterPassword("");
-        registerPage.enterConfirmPassword("");
+        registerPage.fillRegistrationForm("", "", "", "", "", "");
     }
 
     /**
@@ -1,12 +1,37 @@
 package testrunner;
 
+import org.testng.ITestContext;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import utils.ParallelExecution;
+import utils.ScenarioScheduler;
 
 @CucumberOptions(
     features = "src/test/resources/features",
     glue = {"stepdefinition", "hooks"},  // <-- restrict scanning
-    plugin = {"pretty", "html:target/cucumber-report.html"}
+    plugin = {"pretty", "html:target/cucumber-report.html", "utils.StepTimingPlugin"}
 )
 public class TestRunner extends AbstractTestNGCucumberTests {
+
+    /**
+     * Applies the configured thread count to the data provider before any scenario runs.
+     * Use -DthreadCount=N (or threadCount in config.properties) to scale out.
+     */
+    @BeforeClass(alwaysRun = true)
+    public void configureParallelism(ITestContext context) {
+        context.getCurrentXmlTest().getSuite().setDataProviderThreadCount(ParallelExecution.threadCount());
+    }
+
+    /**
+     * Scenarios in longest-first order from the scenario history, so no worker is left
+     * with a slow scenario at the end; file order when there is no history yet.
+     */
+    @Override
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        return ScenarioScheduler.order(super.scenarios());
+    }
 }
@@ -0,0 +1,85 @@
+package utils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * AuthSessionCache remembers the cookies of users that already logged in through the UI.
+ *
+ * Scenarios that only need a logged-in precondition restore the cached cookies
+ * instead of typing credentials and submitting the login form. Snapshots are
+ * keyed by email (as provided by TestDataManager) and are dropped when they
+ * exceed authSessionTtlSeconds or when the site no longer accepts them.
+ */
+public class AuthSessionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthSessionCache.class);
+
+    private static final String ACCOUNT_ROUTE = "/index.php?route=account/account";
+    private static final String LOGIN_ROUTE = "route=account/login";
+
+    private static final Map<String, SessionSnapshot> sessions = new ConcurrentHashMap<>();
+
+    private AuthSessionCache() {
+    }
+
+    /**
+     * Stores the current browser's cookies as the authenticated session of the given user.
+     * Call only after a login has been verified.
+     */
+    public static void capture(String email) {
+        SessionSnapshot snapshot = SessionSnapshot.capture(DriverManager.getDriver(), true);
+        sessions.put(email, snapshot);
+        logger.info("🍪 Cached authenticated session for {}", email);
+    }
+
+    /**
+     * Restores the cached session of the given user and opens the account page.
+     *
+     * @return true if the user is now logged in, false if there was no usable
+     *         snapshot and the caller has to log in through the UI.
+     */
+    public static boolean restore(String email) {
+        SessionSnapshot snapshot = sessions.get(email);
+        if (snapshot == null) {
+            return false;
+        }
+        if (snapshot.isExpired(timeToLive())) {
+            logger.info("⌛ Cached session for {} expired, logging in through the UI", email);
+            invalidate(email);
+            return false;
+        }
+
+        String baseUrl = FrameworkConfig.current().baseUrl();
+        WebDriver driver = DriverManager.getDriver();
+        // Cookies can only be added for the domain that is currently open
+        if (driver.getCurrentUrl() == null || !driver.getCurrentUrl().startsWith(baseUrl)) {
+            SessionManager.launch(baseUrl + "/index.php?route=common/home");
+        }
+        SessionManager.restore(snapshot);
+        SessionManager.launch(baseUrl + ACCOUNT_ROUTE);
+
+        // The server redirects to the login page when it no longer knows the session
+        if (driver.getCurrentUrl().contains(LOGIN_ROUTE)) {
+            logger.info("🚫 Server rejected cached session for {}, logging in through the UI", email);
+            invalidate(email);
+            SessionManager.markLoggedOut();
+            return false;
+        }
+        logger.info("🍪 Restored cached session for {}", email);
+        return true;
+    }
+
+    public static void invalidate(String email) {
+        sessions.remove(email);
+    }
+
+    private static Duration timeToLive() {
+        return Duration.ofSeconds(FrameworkConfig.current().authSessionTtlSeconds());
+    }
+}
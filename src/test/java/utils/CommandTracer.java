@@ -0,0 +1,123 @@
+package utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * CommandTracer counts and times every WebDriver command, by command type
+ * (findElement, click, executeScript, getText, ...).
+ *
+ * DriverManager attaches it to every pooled driver through Selenium's
+ * EventFiringDecorator (traceCommands=true). Each command is recorded:
+ *  - per run, in the "command" category of {@link TimingRegistry}
+ *  - per scenario, in the {@link ScenarioContext}
+ *  - per thread, as a running count for callers measuring a block of work
+ * Commands slower than slowCommandMillis are logged. Navigation commands also
+ * advance the {@link NavigationTracker} epoch of the driver.
+ *
+ * Calls that only return a helper object (manage(), navigate(), switchTo(), ...)
+ * never reach the browser and are not counted. On a remote grid every counted
+ * command is one HTTP round trip.
+ */
+public class CommandTracer implements WebDriverListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandTracer.class);
+
+    public static final String COMMAND = "command";
+
+    private static final Set<String> LOCAL_CALLS = Set.of("manage", "navigate", "switchTo", "window", "timeouts",
+        "equals", "hashCode", "toString", "getWrappedDriver", "getWrappedElement");
+    private static final Set<String> NAVIGATION_CALLS = Set.of("get", "to", "back", "forward", "refresh");
+
+    private static final ThreadLocal<long[]> commands = ThreadLocal.withInitial(() -> new long[1]);
+    // Start times of the commands in flight on this thread; decorated calls can nest
+    private static final ThreadLocal<Deque<long[]>> inFlight = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final long slowCommandNanos;
+    private volatile WebDriver decorated;
+
+    private CommandTracer(long slowCommandMillis) {
+        this.slowCommandNanos = slowCommandMillis * 1_000_000L;
+    }
+
+    /**
+     * Wraps the driver so its commands are traced.
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        CommandTracer tracer = new CommandTracer(FrameworkConfig.current().slowCommandMillis());
+        WebDriver decorated = new EventFiringDecorator<WebDriver>(tracer).decorate(driver);
+        tracer.decorated = decorated;
+        return decorated;
+    }
+
+    /**
+     * @return The number of WebDriver commands the current thread has issued so far.
+     */
+    public static long commandsOnThread() {
+        return commands.get()[0];
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isCommand(method)) {
+            commands.get()[0]++;
+            inFlight.get().push(new long[] {System.nanoTime()});
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (isCommand(method)) {
+            finish(method, args);
+            if (NAVIGATION_CALLS.contains(method.getName()) && decorated != null) {
+                NavigationTracker.navigated(decorated);
+            }
+        }
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if (isCommand(method)) {
+            finish(method, args);
+        }
+    }
+
+    private void finish(Method method, Object[] args) {
+        long[] start = inFlight.get().poll();
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start[0];
+        String type = method.getName();
+        TimingRegistry.record(COMMAND, type, nanos, 1);
+
+        ScenarioContext context = ScenarioContext.current();
+        if (context != null) {
+            context.recordCommand(type, nanos);
+        }
+        if (nanos >= slowCommandNanos) {
+            logger.warn("🐢 Slow WebDriver command {} took {} ms{}", type, nanos / 1_000_000L, describe(args));
+        }
+    }
+
+    private static boolean isCommand(Method method) {
+        return !LOCAL_CALLS.contains(method.getName());
+    }
+
+    private static String describe(Object[] args) {
+        if (args == null || args.length == 0 || args[0] == null) {
+            return "";
+        }
+        String argument = String.valueOf(args[0]);
+        return " (" + (argument.length() > 80 ? argument.substring(0, 77) + "..." : argument) + ")";
+    }
+}
@@ -1,27 +1,27 @@
 package utils;
 
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.Properties;
-
+/**
+ * ConfigReader is kept for string lookups of keys that have no typed getter.
+ * Values come from {@link FrameworkConfig}, so all configuration layers apply.
+ */
 public class ConfigReader {
 
-    private static Properties properties;
-
-    static {
-        try (FileInputStream input = new FileInputStream("src/test/resources/config/config.properties")) {
-            properties = new Properties();
-            properties.load(input);
-        } catch (IOException e) {
-            throw new RuntimeException("❌ Failed to load config.properties file: " + e.getMessage(), e);
-        }
-    }
-
     public static String get(String key) {
-        String value = properties.getProperty(key);
+        String value = FrameworkConfig.current().get(key);
         if (value == null || value.isEmpty()) {
             throw new RuntimeException("❌ Missing key in config.properties: " + key);
         }
-        return value.trim();
+        return value;
+    }
+
+    /**
+     * Returns baseUrl, starting the embedded local site when it is set to "local".
+     */
+    public static String getBaseUrl() {
+        return FrameworkConfig.current().baseUrl();
+    }
+
+    public static String getOrDefault(String key, String defaultValue) {
+        return FrameworkConfig.current().getOrDefault(key, defaultValue);
     }
 }
@@ -1,87 +1,78 @@
 package utils;
 
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
-import org.openqa.selenium.WebDriver;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-
+/**
+ * TestNG listener that adds the TestNG outcome to the scenario's Extent node.
+ *
+ * Scenario nodes, drivers and screenshots are owned by Hooks; the listener finds
+ * them through the {@link ScenarioContext} of the current thread.
+ */
 public class CustomListener implements ITestListener {
 
-    private static ExtentReports extent = ExtentManager.getInstance();
-    private static ThreadLocal<ExtentTest> testThread = new ThreadLocal<>();
+    private static final Logger logger = LoggerFactory.getLogger(CustomListener.class);
 
     @Override
     public void onStart(ITestContext context) {
-        System.out.println("🚀 Test Execution Started: " + context.getName());
+        logger.info("🚀 Test Execution Started: {}", context.getName());
     }
 
     @Override
     public void onFinish(ITestContext context) {
-    	extent.flush();
-        System.out.println("📊 Test Execution Finished: " + context.getName());
-    }
-
-    @Override
-    public void onTestStart(ITestResult result) {
-        String testName = result.getMethod().getMethodName();
-        ExtentTest test = extent.createTest(testName);
-        testThread.set(test);
-        test.log(Status.INFO, "Starting test: " + testName);
+        ExtentManager.flush();
+        logger.info(LogMarkers.SUMMARY, "📊 Test Execution Finished: {}", context.getName());
+        String retries = RetryAnalyzer.summary();
+        if (retries != null) {
+            logger.info(LogMarkers.SUMMARY, retries);
+        }
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        testThread.get().log(Status.PASS, "✅ Test passed: " + result.getMethod().getMethodName());
+        ScenarioContext context = ScenarioContext.lastOnThread();
+        if (context != null && context.getAttempt() > 1) {
+            RetryAnalyzer.recordPassedOnRetry(context.getName(), context.getAttempt() - 1);
+        }
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        testThread.get().log(Status.FAIL, "❌ Test failed: " + result.getThrowable());
-
-        WebDriver driver = getDriverFromResult(result);
-        if (driver != null) {
-            try {
-                String screenshotPath = captureScreenshot(driver, result.getMethod().getMethodName());
-                testThread.get().addScreenCaptureFromPath(screenshotPath);
-            } catch (IOException e) {
-                e.printStackTrace();
+        ScenarioContext context = ScenarioContext.lastOnThread();
+        if (context == null || context.getExtentTest() == null) {
+            return;
+        }
+        ExtentManager.log(context.getExtentTest(), Status.FAIL, "❌ Test failed: " + result.getThrowable());
+        // Hooks captured a screenshot while the scenario still held its browser
+        if (context.getAttachments().isEmpty() && context.getDriver() != null) {
+            Path screenshotPath = ScreenshotPipeline.getInstance().capture(context.getDriver(), context.getName(),
+                context.getAttempt());
+            if (screenshotPath != null) {
+                context.addAttachment(screenshotPath);
+                ExtentManager.log(context.getExtentTest(), Status.INFO, "📸 Screenshot: " + screenshotPath);
             }
         }
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        testThread.get().log(Status.SKIP, "⚠️ Test skipped: " + result.getMethod().getMethodName());
-    }
-
-    // Helper method to take a screenshot
-    private String captureScreenshot(WebDriver driver, String methodName) throws IOException {
-        File srcFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-        String screenshotDir = System.getProperty("user.dir") + "/target/screenshots/";
-        Files.createDirectories(Paths.get(screenshotDir));
-        String destPath = screenshotDir + methodName + ".png";
-        Files.copy(srcFile.toPath(), Paths.get(destPath));
-        return destPath;
-    }
-
-    // Helper method to extract WebDriver from test classes
-    private WebDriver getDriverFromResult(ITestResult result) {
-        Object testInstance = result.getInstance();
-        try {
-            return (WebDriver) testInstance.getClass().getDeclaredField("driver").get(testInstance);
-        } catch (Exception e) {
-            return null;
+        ScenarioContext context = ScenarioContext.lastOnThread();
+        if (context == null || context.getExtentTest() == null) {
+            return;
+        }
+        if (result.wasRetried()) {
+            // TestNG reports a retried attempt as skipped; the next attempt has its own node
+            ExtentManager.log(context.getExtentTest(), Status.WARNING, "🔁 Retrying after transient failure: "
+                + result.getThrowable());
+        } else {
+            ExtentManager.log(context.getExtentTest(), Status.SKIP, "⚠️ Test skipped: " + result.getMethod().getMethodName());
         }
     }
 }
@@ -3,8 +3,11 @@ package utils;
 import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
@@ -16,26 +19,89 @@ import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
 
 public class DriverManager {
 
-	private static WebDriver driver;
+	private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
+
+	// Driver leased by the current worker thread for the running scenario
+	private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+	// Pool the current thread's driver was leased from
+	private static final ThreadLocal<DriverPool> leasedFrom = new ThreadLocal<>();
+	// Driver the current thread returned last, so a retry can throw it away
+	private static final ThreadLocal<WebDriver> lastReleased = new ThreadLocal<>();
+	// One pool per browser so workers with a browser override get their own browsers
+	private static final ConcurrentMap<String, DriverPool> pools = new ConcurrentHashMap<>();
 	private static final String DRIVER_PATH = System.getProperty("user.dir") + File.separator + "drivers";
 
 	public static WebDriver getDriver() {
-		if (driver == null) {
+		if (driver.get() == null) {
 			initializeDriver();
 		}
-		return driver;
+		return driver.get();
 	}
 
+	/**
+	 * Leases a warm driver from the pool for the current thread.
+	 * Calling it again on the same thread is a no-op until the driver is released.
+	 */
 	public static void initializeDriver() {
-		if (driver != null) return;
+		if (driver.get() != null) return;
+		DriverPool pool = getPool(FrameworkConfig.current());
+		driver.set(pool.lease());
+		leasedFrom.set(pool);
+		ScenarioContext context = ScenarioContext.current();
+		if (context != null) {
+			context.setDriver(driver.get());
+		}
+	}
+
+	/**
+	 * Returns the current thread's driver to the pool so the next scenario can reuse it.
+	 */
+	public static void releaseDriver() {
+		WebDriver current = driver.get();
+		if (current != null) {
+			driver.remove();
+			leasedFrom.get().release(current);
+			leasedFrom.remove();
+			lastReleased.set(current);
+			ScenarioContext context = ScenarioContext.current();
+			if (context != null) {
+				context.setDriver(null);
+			}
+		}
+	}
 
-		String browser = ConfigReader.get("browser").toLowerCase();
+	/**
+	 * Quits the driver this thread released last if no other thread has leased it since,
+	 * so a retried scenario starts on a fresh browser session.
+	 */
+	public static void discardLastDriver() {
+		WebDriver last = lastReleased.get();
+		lastReleased.remove();
+		if (last != null) {
+			for (DriverPool pool : pools.values()) {
+				if (pool.evictIdle(last)) {
+					logger.info("🗑️ Discarded the failed attempt's driver before retrying");
+				}
+			}
+		}
+	}
+
+	private static DriverPool getPool(FrameworkConfig config) {
+		return pools.computeIfAbsent(config.browser(), browser -> new DriverPool(config.driverPoolSize(),
+				Duration.ofSeconds(config.driverLeaseTimeoutSeconds()), () -> createDriver(browser),
+				SessionManager::reset));
+	}
+
+	private static WebDriver createDriver(String browser) {
 		boolean isCI = Boolean.parseBoolean(System.getenv("CI")); // true in GitHub Actions
+		WebDriver driver;
 
 		try {
 			switch (browser) {
@@ -44,8 +110,8 @@ public class DriverManager {
 
 			case "browserstack-chrome":
 				driver = createBrowserStackDriver();
-				String sessionId = ((RemoteWebDriver) DriverManager.getDriver()).getSessionId().toString();
-				System.out.println("BrowserStack Video URL: https://automate.browserstack.com/sessions/" + sessionId + ".mp4");
+				String sessionId = ((RemoteWebDriver) driver).getSessionId().toString();
+				logger.info("BrowserStack Video URL: https://automate.browserstack.com/sessions/{}.mp4", sessionId);
 
 				break;
 			case "chrome":
@@ -93,6 +159,8 @@ public class DriverManager {
 			if (!isCI) {
 				driver.manage().window().maximize(); // maximize only locally
 			}
+			// Counts WebDriver commands for the step timing report
+			return FrameworkConfig.current().traceCommands() ? CommandTracer.decorate(driver) : driver;
 
 		} catch (Exception e) {
 			throw new RuntimeException("Failed to initialize WebDriver: " + e.getMessage(), e);
@@ -138,8 +206,9 @@ public class DriverManager {
     }
     // 🌐 Mark test status on BrowserStack
     public static void markTestStatus(String status, String reason) {
-        if (driver instanceof JavascriptExecutor) {
-            ((JavascriptExecutor) driver).executeScript(
+        WebDriver current = driver.get();
+        if (current instanceof JavascriptExecutor) {
+            ((JavascriptExecutor) current).executeScript(
                 "browserstack_executor: {\"action\": \"setSessionStatus\", \"arguments\": {\"status\":\"" 
                 + status + "\", \"reason\": \"" + reason + "\"}}");
         }
@@ -147,14 +216,21 @@ public class DriverManager {
 
 	
 
+	/**
+	 * Quits every pooled browser. Called once when the whole run is finished.
+	 */
 	public static void quitDriver() {
-		if (driver != null) {
-			driver.quit();
-			driver = null;
+		releaseDriver();
+		for (String browser : pools.keySet()) {
+			DriverPool pool = pools.remove(browser);
+			if (pool != null) {
+				pool.shutdown();
+			}
 		}
 	}
 
 	public static void launchURL(String url) {
 		getDriver().get(url);
+		NavigationTracker.navigated(getDriver());
 	}
 }
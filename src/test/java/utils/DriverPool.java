@@ -0,0 +1,179 @@
+package utils;
+
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DriverPool hands out warm WebDriver sessions to worker threads.
+ *
+ * A driver is leased by exactly one thread at a time and returned to the pool
+ * when the scenario ends, so the next scenario reuses the browser instead of
+ * paying for a new session. The number of live drivers (idle + leased) never
+ * exceeds the configured maximum. Crashed sessions are detected with a cheap
+ * health check and evicted instead of being handed out again.
+ */
+public class DriverPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private final Supplier<WebDriver> driverFactory;
+    private final Consumer<WebDriver> resetAction;
+    private final Semaphore leases;
+    private final Duration leaseTimeout;
+    private final int maxSize;
+
+    // Idle drivers, most recently returned first so the warmest browser is reused
+    private final Deque<WebDriver> idle = new ConcurrentLinkedDeque<>();
+
+    // Every live driver owned by the pool, used to quit everything on shutdown
+    private final Set<WebDriver> live = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param maxSize       Maximum number of live browser sessions.
+     * @param leaseTimeout  How long a thread waits for a free driver before failing.
+     * @param driverFactory Creates a new browser session when no idle one is available.
+     * @param resetAction   Cleans browser state before an idle driver is leased again.
+     */
+    public DriverPool(int maxSize, Duration leaseTimeout, Supplier<WebDriver> driverFactory,
+                      Consumer<WebDriver> resetAction) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1 but was " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.leaseTimeout = leaseTimeout;
+        this.driverFactory = driverFactory;
+        this.resetAction = resetAction;
+        this.leases = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Leases a driver to the calling thread, reusing an idle session when possible.
+     *
+     * @return A healthy WebDriver with a clean browser state.
+     */
+    public WebDriver lease() {
+        acquirePermit();
+        try {
+            WebDriver driver;
+            while ((driver = idle.pollFirst()) != null) {
+                if (isHealthy(driver)) {
+                    resetAction.accept(driver);
+                    logger.debug("♻️ Reusing pooled driver ({} live, {} idle)", live.size(), idle.size());
+                    return driver;
+                }
+                logger.warn("🧟 Evicting crashed driver session from pool");
+                discard(driver);
+            }
+
+            driver = driverFactory.get();
+            live.add(driver);
+            logger.info("🚗 Created new pooled driver ({} of {} live)", live.size(), maxSize);
+            return driver;
+        } catch (RuntimeException e) {
+            leases.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a leased driver to the pool. Unhealthy drivers are quit instead.
+     *
+     * @param driver The driver previously obtained from {@link #lease()}.
+     */
+    public void release(WebDriver driver) {
+        try {
+            if (live.contains(driver) && isHealthy(driver)) {
+                // Must be idle before the permit is released so the next lease sees it
+                idle.offerFirst(driver);
+            } else {
+                discard(driver);
+            }
+        } finally {
+            leases.release();
+        }
+    }
+
+    /**
+     * Quits a leased driver and frees its slot, e.g. after a session was lost.
+     *
+     * @param driver The driver previously obtained from {@link #lease()}.
+     */
+    public void evict(WebDriver driver) {
+        try {
+            discard(driver);
+        } finally {
+            leases.release();
+        }
+    }
+
+    /**
+     * Quits an idle driver so it is never leased again, e.g. before a scenario is retried.
+     *
+     * @param driver A driver previously returned with {@link #release(WebDriver)}.
+     * @return true if the driver was still idle in this pool and has been quit.
+     */
+    public boolean evictIdle(WebDriver driver) {
+        if (idle.remove(driver)) {
+            discard(driver);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Quits every driver owned by the pool, idle or leased.
+     */
+    public void shutdown() {
+        idle.clear();
+        for (WebDriver driver : live) {
+            discard(driver);
+        }
+        logger.info("🛑 Driver pool shut down");
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!leases.tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Timed out after " + leaseTimeout.toSeconds()
+                        + "s waiting for a free driver (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a free driver", e);
+        }
+    }
+
+    private void discard(WebDriver driver) {
+        if (live.remove(driver)) {
+            PageObjectFactory.forget(driver);
+            try {
+                driver.quit();
+            } catch (Exception e) {
+                logger.debug("Ignoring error while quitting driver: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A single round trip that fails fast when the browser or remote session is gone.
+     */
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package utils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+/**
+ * Lightweight stand-in for a page object element, created by {@link PageObjectFactory}.
+ *
+ * A plain class instead of a reflective PageFactory proxy. The resolved element is
+ * cached together with the browser's navigation epoch (see {@link NavigationTracker}):
+ * while nothing has navigated, calls reuse it without a findElement round trip; after
+ * a navigation, click or submit it is resolved again. If the browser re-rendered the
+ * element anyway, the StaleElementReferenceException is caught and the call is
+ * retried once against a fresh lookup.
+ */
+public class ElementHandle implements WebElement, WrapsElement, Locatable, LocatedElement {
+
+    private final SearchContext searchContext;
+    private final By locator;
+    private final boolean cacheEnabled;
+    private final AtomicLong navigationEpoch;
+
+    private WebElement cached;
+    private long cachedEpoch;
+
+    /**
+     * @param searchContext The browser the element lives in.
+     * @param locator       The declared locator of the element.
+     * @param cacheEnabled  Whether resolved elements are reused until the next navigation.
+     */
+    public ElementHandle(SearchContext searchContext, By locator, boolean cacheEnabled) {
+        this.searchContext = searchContext;
+        this.locator = locator;
+        this.cacheEnabled = cacheEnabled;
+        this.navigationEpoch = NavigationTracker.epochOf(searchContext);
+    }
+
+    @Override
+    public By getLocator() {
+        return locator;
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        if (!cacheEnabled) {
+            return searchContext.findElement(locator);
+        }
+        long epoch = navigationEpoch.get();
+        if (cached == null || cachedEpoch != epoch) {
+            cached = searchContext.findElement(locator);
+            cachedEpoch = epoch;
+        }
+        return cached;
+    }
+
+    /**
+     * Drops the cached element so the next call looks it up again.
+     */
+    public void invalidate() {
+        cached = null;
+    }
+
+    /**
+     * Runs the call against the resolved element, re-resolving once if it went stale.
+     */
+    private <T> T call(Function<WebElement, T> action) {
+        try {
+            return action.apply(getWrappedElement());
+        } catch (StaleElementReferenceException e) {
+            invalidate();
+            return action.apply(getWrappedElement());
+        }
+    }
+
+    private void run(Consumer<WebElement> action) {
+        call(element -> {
+            action.accept(element);
+            return null;
+        });
+    }
+
+    // ====== WebElement delegation ======
+
+    // A click or submit may load or re-render the page, so cached elements are invalidated
+    @Override public void click() { run(WebElement::click); NavigationTracker.navigated(searchContext); }
+    @Override public void submit() { run(WebElement::submit); NavigationTracker.navigated(searchContext); }
+    @Override public void sendKeys(CharSequence... keysToSend) { run(element -> element.sendKeys(keysToSend)); }
+    @Override public void clear() { run(WebElement::clear); }
+    @Override public String getTagName() { return call(WebElement::getTagName); }
+    @Override public String getDomProperty(String name) { return call(element -> element.getDomProperty(name)); }
+    @Override public String getDomAttribute(String name) { return call(element -> element.getDomAttribute(name)); }
+    @Override public String getAttribute(String name) { return call(element -> element.getAttribute(name)); }
+    @Override public String getAriaRole() { return call(WebElement::getAriaRole); }
+    @Override public String getAccessibleName() { return call(WebElement::getAccessibleName); }
+    @Override public boolean isSelected() { return call(WebElement::isSelected); }
+    @Override public boolean isEnabled() { return call(WebElement::isEnabled); }
+    @Override public String getText() { return call(WebElement::getText); }
+    @Override public List<WebElement> findElements(By by) { return call(element -> element.findElements(by)); }
+    @Override public WebElement findElement(By by) { return call(element -> element.findElement(by)); }
+    @Override public SearchContext getShadowRoot() { return call(WebElement::getShadowRoot); }
+    @Override public boolean isDisplayed() { return call(WebElement::isDisplayed); }
+    @Override public Point getLocation() { return call(WebElement::getLocation); }
+    @Override public Dimension getSize() { return call(WebElement::getSize); }
+    @Override public Rectangle getRect() { return call(WebElement::getRect); }
+    @Override public String getCssValue(String propertyName) { return call(element -> element.getCssValue(propertyName)); }
+    @Override public Coordinates getCoordinates() { return call(element -> ((Locatable) element).getCoordinates()); }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) throws WebDriverException {
+        return call(element -> element.getScreenshotAs(target));
+    }
+
+    @Override
+    public String toString() {
+        return "Element handle for: " + locator;
+    }
+}
@@ -1,6 +1,8 @@
 package utils;
 
 import io.github.cdimascio.dotenv.Dotenv;
+import io.github.cdimascio.dotenv.DotenvEntriesFilter;
+import io.github.cdimascio.dotenv.DotenvEntry;
 
 public class EnvironmentLoader {
 	
@@ -16,4 +18,16 @@ public class EnvironmentLoader {
 		return value;
 	}
 
+	/**
+	 * @return The value from the .env file only, ignoring environment variables.
+	 */
+	public static String getDotenv(String key) {
+		for (DotenvEntry entry : dotenv.entries(DotenvEntriesFilter.DECLARED_IN_ENV_FILE)) {
+			if (entry.getKey().equals(key)) {
+				return entry.getValue();
+			}
+		}
+		return null;
+	}
+
 }
@@ -2,49 +2,346 @@ package utils;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.Markup;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 
-import java.util.HashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * ExtentManager is the thread-safe sink for the Extent report.
+ *
+ * Memory stays bounded on long suites: the report is written in chunks of
+ * reportChunkSize scenarios (target/extent-report.html, extent-report-2.html, ...).
+ * A full chunk is flushed once its last open scenario ends, and then dropped from the heap.
+ *
+ * The open chunk is flushed in the background every reportFlushSeconds and once more
+ * by a shutdown hook. Every scenario start and result is also appended to
+ * extent-journal.jsonl next to historyFile (test-history/ by default). It lives outside
+ * target/ so mvn clean does not delete it: if a run dies before {@link #flush()}
+ * completes, the next run rebuilds target/extent-report-recovered.html from it.
+ */
 public class ExtentManager {
 
-    private static ExtentReports extent;
-    private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    private static final Logger logger = LoggerFactory.getLogger(ExtentManager.class);
+
+    private static final String REPORT_DIR = System.getProperty("user.dir") + "/target/";
+    private static final Path JOURNAL = journalPath();
+    private static final String COMPLETE_MARKER = "{\"event\":\"complete\"}";
+
+    /** One report file and the scenarios written to it. */
+    private static final class Chunk {
+        final int index;
+        final ExtentReports reports;
+        int created;
+        int open;
+        boolean dirty;
 
-    public static ExtentReports getInstance() {
-        if (extent == null) {
+        Chunk(int index) {
+            this.index = index;
+            this.reports = newReports(REPORT_DIR + (index == 1 ? "extent-report.html" : "extent-report-" + index + ".html"));
+        }
+    }
+
+    /** The scenario a worker thread is currently reporting on. */
+    private static final class OpenTest {
+        final long id;
+        final String name;
+        final ExtentTest node;
+        final Chunk chunk;
+
+        OpenTest(long id, String name, ExtentTest node, Chunk chunk) {
+            this.id = id;
+            this.name = name;
+            this.node = node;
+            this.chunk = chunk;
+        }
+    }
+
+    // All state below is guarded by the ExtentManager class lock
+    private static Chunk current;
+    private static final List<Chunk> retiring = new ArrayList<>();
+    private static BufferedWriter journal;
+    private static long nextTestId;
+    private static ScheduledExecutorService flusher;
+
+    private static final ThreadLocal<OpenTest> test = new ThreadLocal<>();
+
+    // Synchronized so parallel scenarios never create two reports
+    public static synchronized ExtentReports getInstance() {
+        if (current == null) {
             createInstance();
         }
-        return extent;
+        return current.reports;
+    }
+
+    private static void createInstance() {
+        FrameworkConfig config = FrameworkConfig.current();
+        recoverUnfinishedJournal();
+        openJournal();
+        current = new Chunk(1);
+
+        long period = config.reportFlushSeconds();
+        if (period > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "extent-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(ExtentManager::flushDirty, period, period, TimeUnit.SECONDS);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(ExtentManager::flush, "extent-shutdown-flush"));
     }
 
-    private static ExtentReports createInstance() {
-        String reportPath = System.getProperty("user.dir") + "/target/extent-report.html";
+    private static ExtentReports newReports(String reportPath) {
         ExtentSparkReporter reporter = new ExtentSparkReporter(reportPath);
         reporter.config().setDocumentTitle("Automation Report");
         reporter.config().setReportName("LambdaTest BDD Automation Results");
 
-        extent = new ExtentReports();
-        extent.attachReporter(reporter);
-        return extent;
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(reporter);
+        return reports;
     }
 
     // ✅ Create a new test for the scenario
-    public static void createTest(String name) {
-        ExtentTest extentTest = getInstance().createTest(name);
-        test.set(extentTest);
+    public static synchronized void createTest(String name) {
+        getInstance();
+        if (current.created >= FrameworkConfig.current().reportChunkSize()) {
+            retire(current);
+            current = new Chunk(current.index + 1);
+        }
+        OpenTest openTest = new OpenTest(++nextTestId, name, current.reports.createTest(name), current);
+        current.created++;
+        current.open++;
+        current.dirty = true;
+        test.set(openTest);
+
+        JsonObject entry = new JsonObject();
+        entry.addProperty("event", "start");
+        entry.addProperty("id", openTest.id);
+        entry.addProperty("name", name);
+        journal(entry.toString());
     }
 
     // ✅ Get current test
     public static ExtentTest getTest() {
-        return test.get();
+        OpenTest openTest = test.get();
+        return openTest == null ? null : openTest.node;
+    }
+
+    /**
+     * Logs to the current scenario's node, serialized with background flushes.
+     */
+    public static synchronized void log(Status status, String message) {
+        OpenTest openTest = test.get();
+        if (openTest != null) {
+            openTest.node.log(status, message);
+            openTest.chunk.dirty = true;
+        }
+    }
+
+    /**
+     * Logs markup (a code block, a table, ...) to the current scenario's node.
+     */
+    public static synchronized void log(Status status, Markup markup) {
+        OpenTest openTest = test.get();
+        if (openTest != null) {
+            openTest.node.log(status, markup);
+            openTest.chunk.dirty = true;
+        }
+    }
+
+    /**
+     * Logs to a given node, e.g. from a TestNG listener after the scenario has ended.
+     */
+    public static synchronized void log(ExtentTest node, Status status, String message) {
+        node.log(status, message);
+        markAllDirty();
+    }
+
+    /**
+     * Adds a screenshot file to the current scenario's node.
+     */
+    public static synchronized void attachScreenshot(Path path) {
+        OpenTest openTest = test.get();
+        if (openTest != null) {
+            openTest.node.addScreenCaptureFromPath(path.toString());
+            openTest.chunk.dirty = true;
+        }
+    }
+
+    /**
+     * Records the scenario result, journals it and closes the scenario's node.
+     */
+    public static synchronized void endTest(Status status, String message) {
+        OpenTest openTest = test.get();
+        if (openTest == null) {
+            return;
+        }
+        test.remove();
+        openTest.node.log(status, message);
+
+        JsonObject entry = new JsonObject();
+        entry.addProperty("event", "end");
+        entry.addProperty("id", openTest.id);
+        entry.addProperty("name", openTest.name);
+        entry.addProperty("status", status.name());
+        entry.addProperty("message", message);
+        journal(entry.toString());
+
+        Chunk chunk = openTest.chunk;
+        chunk.open--;
+        chunk.dirty = true;
+        if (chunk.open == 0 && retiring.remove(chunk)) {
+            flushChunk(chunk);
+        }
     }
 
     // ✅ Flush report
-    public static void flush() {
-        if (extent != null) {
-            extent.flush();
+    public static synchronized void flush() {
+        if (current == null) {
+            return;
+        }
+        flushDirty();
+        boolean scenariosOpen = current.open > 0 || !retiring.isEmpty();
+        if (!scenariosOpen) {
+            // Marks the journal as complete so the next run does not try to recover it
+            journal(COMPLETE_MARKER);
+        }
+    }
+
+    private static synchronized void flushDirty() {
+        for (Chunk chunk : retiring) {
+            flushChunk(chunk);
+        }
+        if (current != null) {
+            flushChunk(current);
+        }
+    }
+
+    private static void markAllDirty() {
+        for (Chunk chunk : retiring) {
+            chunk.dirty = true;
+        }
+        if (current != null) {
+            current.dirty = true;
+        }
+    }
+
+    private static void flushChunk(Chunk chunk) {
+        if (chunk.dirty) {
+            try {
+                chunk.reports.flush();
+                chunk.dirty = false;
+            } catch (RuntimeException e) {
+                logger.warn("Could not flush report chunk {}: {}", chunk.index, e.getMessage());
+            }
+        }
+    }
+
+    // A full chunk is written and released as soon as its last scenario ends
+    private static void retire(Chunk chunk) {
+        if (chunk.open == 0) {
+            flushChunk(chunk);
+        } else {
+            retiring.add(chunk);
+        }
+    }
+
+    // ====== Journal ======
+
+    // Next to the scenario history, which is kept outside target/ for the same reason
+    private static Path journalPath() {
+        String historyFile = FrameworkConfig.current().historyFile();
+        Path historyDir = "none".equalsIgnoreCase(historyFile)
+            ? Paths.get("test-history")
+            : Paths.get(historyFile).toAbsolutePath().getParent();
+        return historyDir.resolve("extent-journal.jsonl");
+    }
+
+    private static void openJournal() {
+        try {
+            Files.createDirectories(JOURNAL.getParent());
+            journal = Files.newBufferedWriter(JOURNAL, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            logger.warn("Could not open report journal {}: {}", JOURNAL, e.getMessage());
+        }
+    }
+
+    private static void journal(String line) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.write(line);
+            journal.newLine();
+            // Every line reaches the OS right away, so it survives a JVM crash
+            journal.flush();
+        } catch (IOException e) {
+            logger.warn("Could not write report journal: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds a report from the previous run's journal if that run never completed.
+     */
+    private static void recoverUnfinishedJournal() {
+        try {
+            if (!Files.exists(JOURNAL)) {
+                return;
+            }
+            List<String> lines = Files.readAllLines(JOURNAL, StandardCharsets.UTF_8);
+            lines.removeIf(String::isBlank);
+            if (lines.isEmpty() || lines.get(lines.size() - 1).equals(COMPLETE_MARKER)) {
+                return;
+            }
+
+            // id -> [name, status, message], in start order
+            Map<Long, String[]> scenarios = new LinkedHashMap<>();
+            for (String line : lines) {
+                JsonObject entry = JsonParser.parseString(line).getAsJsonObject();
+                if (!entry.has("id")) {
+                    continue;
+                }
+                long id = entry.get("id").getAsLong();
+                String name = entry.get("name").getAsString();
+                if ("start".equals(entry.get("event").getAsString())) {
+                    scenarios.put(id, new String[] {name, Status.FAIL.name(), "❌ Run stopped before the scenario finished"});
+                } else {
+                    scenarios.put(id, new String[] {name, entry.get("status").getAsString(), entry.get("message").getAsString()});
+                }
+            }
+
+            ExtentReports recovered = newReports(REPORT_DIR + "extent-report-recovered.html");
+            for (String[] scenario : scenarios.values()) {
+                recovered.createTest(scenario[0]).log(Status.valueOf(scenario[1]), scenario[2]);
+            }
+            recovered.flush();
+            Files.move(JOURNAL, JOURNAL.resolveSibling("extent-journal-recovered.jsonl"), StandardCopyOption.REPLACE_EXISTING);
+            logger.warn("🩹 Previous run did not finish, recovered {} scenario(s) into extent-report-recovered.html",
+                scenarios.size());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not recover report journal {}: {}", JOURNAL, e.getMessage());
         }
     }
 }
@@ -0,0 +1,74 @@
+package utils;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+/**
+ * FailureClassifier tells transient infrastructure failures apart from real test failures.
+ *
+ * Only transient failures (timeouts, stale elements, lost sessions or connections)
+ * are worth a retry; an assertion failure fails the same way every time.
+ */
+public final class FailureClassifier {
+
+    public enum Kind {
+        /** Timing or infrastructure trouble that may pass on a fresh browser. */
+        TRANSIENT,
+        /** A failed assertion: the application did not behave as expected. */
+        ASSERTION,
+        /** Anything else, e.g. a bug in the test code. Not retried. */
+        OTHER
+    }
+
+    // Fragments of WebDriverException messages that mean the browser or grid went away
+    private static final String[] SESSION_LOSS = {
+        "invalid session id", "session deleted", "session not found", "no such window",
+        "chrome not reachable", "browser has closed", "connection refused", "connection reset"
+    };
+
+    private FailureClassifier() {
+    }
+
+    /**
+     * Classifies a failure by the first cause in its chain that says something definite.
+     */
+    public static Kind classify(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof AssertionError) {
+                return Kind.ASSERTION;
+            }
+            if (cause instanceof TimeoutException
+                    || cause instanceof StaleElementReferenceException
+                    || cause instanceof NoSuchSessionException
+                    || cause instanceof SessionNotCreatedException
+                    || cause instanceof UnreachableBrowserException
+                    || cause instanceof IOException) {
+                return Kind.TRANSIENT;
+            }
+            if (cause instanceof WebDriverException && isSessionLoss(cause.getMessage())) {
+                return Kind.TRANSIENT;
+            }
+        }
+        return Kind.OTHER;
+    }
+
+    private static boolean isSessionLoss(String message) {
+        if (message == null) {
+            return false;
+        }
+        String lower = message.toLowerCase(Locale.ROOT);
+        for (String fragment : SESSION_LOSS) {
+            if (lower.contains(fragment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,317 @@
+package utils;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * FrameworkConfig is the immutable, typed view of all framework settings.
+ *
+ * Values are resolved once at startup from these layers, later ones winning:
+ *  1. built-in defaults
+ *  2. src/test/resources/config/config.properties
+ *  3. .env file (via EnvironmentLoader)
+ *  4. environment variables
+ *  5. system properties (e.g. -Dbrowser=chrome-headless)
+ *
+ * In .env and environment variables a key is written in upper snake case with the
+ * BDD_ prefix (timeoutInSeconds -> BDD_TIMEOUT_IN_SECONDS), so common variables such
+ * as BROWSER never change the framework's settings by accident.
+ *
+ * Hot code reads the pre-parsed typed getters instead of parsing strings. A worker
+ * thread can install its own overrides (e.g. a different browser) with
+ * {@link #overrideForCurrentThread(Map)}; {@link #current()} then returns a
+ * derived config for that thread only.
+ */
+public final class FrameworkConfig {
+
+    private static final String CONFIG_FILE = "src/test/resources/config/config.properties";
+
+    private static final String ENV_PREFIX = "BDD_";
+
+    private static final Map<String, String> DEFAULTS = defaults();
+
+    private static final FrameworkConfig global = load();
+    private static final ThreadLocal<FrameworkConfig> threadOverride = new ThreadLocal<>();
+
+    private final Map<String, String> values;
+
+    // ====== Typed values, parsed once ======
+    private final String baseUrl;
+    private final String browser;
+    private final int timeoutInSeconds;
+    private final ParallelExecution.Mode parallelMode;
+    private final int threadCount;
+    private final int driverPoolSize;
+    private final long driverLeaseTimeoutSeconds;
+    private final boolean warmSession;
+    private final long authSessionTtlSeconds;
+    private final long waitPollInitialMillis;
+    private final long waitPollMaxMillis;
+    private final double waitPollBackoff;
+    private final boolean verifyBulkFormFill;
+    private final boolean elementCache;
+    private final int localSitePort;
+    private final String runId;
+    private final String shardId;
+    private final int userBufferDepth;
+    private final int userBufferRefillThreshold;
+    private final int provisionUsersAtStart;
+    private final int provisionConcurrency;
+    private final int reportChunkSize;
+    private final long reportFlushSeconds;
+    private final String screenshotFormat;
+    private final double screenshotScale;
+    private final float screenshotJpegQuality;
+    private final long screenshotMaxDiskMb;
+    private final int screenshotQueueSize;
+    private final boolean traceCommands;
+    private final long slowCommandMillis;
+    private final int maxRetries;
+    private final int retryBudget;
+    private final String historyFile;
+    private final int historyRuns;
+    private final double quarantineFlakeRate;
+    private final int quarantineMinRuns;
+    private final boolean scheduleLongestFirst;
+
+    private FrameworkConfig(Map<String, String> values) {
+        this.values = Collections.unmodifiableMap(new HashMap<>(values));
+        this.baseUrl = require("baseUrl");
+        this.browser = require("browser").toLowerCase(Locale.ROOT);
+        this.timeoutInSeconds = getInt("timeoutInSeconds");
+        this.parallelMode = parseMode(require("parallelMode"));
+        this.threadCount = parallelMode == ParallelExecution.Mode.NONE ? 1 : Math.max(1, getInt("threadCount"));
+        // One browser per worker thread unless driverPoolSize says otherwise
+        this.driverPoolSize = getInt("driverPoolSize") > 0 ? getInt("driverPoolSize") : threadCount;
+        this.driverLeaseTimeoutSeconds = getLong("driverLeaseTimeoutSeconds");
+        this.warmSession = getBoolean("warmSession");
+        this.authSessionTtlSeconds = getLong("authSessionTtlSeconds");
+        this.waitPollInitialMillis = getLong("waitPollInitialMillis");
+        this.waitPollMaxMillis = getLong("waitPollMaxMillis");
+        this.waitPollBackoff = Double.parseDouble(require("waitPollBackoff"));
+        this.verifyBulkFormFill = getBoolean("verifyBulkFormFill");
+        this.elementCache = getBoolean("elementCache");
+        this.localSitePort = getInt("localSitePort");
+        this.runId = values.getOrDefault("runId", "");
+        this.shardId = require("shardId");
+        this.userBufferDepth = Math.max(1, getInt("userBufferDepth"));
+        this.userBufferRefillThreshold = Math.min(userBufferDepth - 1, Math.max(0, getInt("userBufferRefillThreshold")));
+        this.provisionUsersAtStart = Math.max(0, getInt("provisionUsersAtStart"));
+        this.provisionConcurrency = Math.max(1, getInt("provisionConcurrency"));
+        this.reportChunkSize = Math.max(1, getInt("reportChunkSize"));
+        this.reportFlushSeconds = getLong("reportFlushSeconds");
+        this.screenshotFormat = require("screenshotFormat").toLowerCase(Locale.ROOT);
+        this.screenshotScale = Math.min(1.0, Double.parseDouble(require("screenshotScale")));
+        this.screenshotJpegQuality = Float.parseFloat(require("screenshotJpegQuality"));
+        this.screenshotMaxDiskMb = getLong("screenshotMaxDiskMb");
+        this.screenshotQueueSize = Math.max(1, getInt("screenshotQueueSize"));
+        this.traceCommands = getBoolean("traceCommands");
+        this.slowCommandMillis = getLong("slowCommandMillis");
+        this.maxRetries = Math.max(0, getInt("maxRetries"));
+        this.retryBudget = Math.max(0, getInt("retryBudget"));
+        this.historyFile = require("historyFile");
+        this.historyRuns = Math.max(1, getInt("historyRuns"));
+        this.quarantineFlakeRate = Double.parseDouble(require("quarantineFlakeRate"));
+        this.quarantineMinRuns = Math.max(1, getInt("quarantineMinRuns"));
+        this.scheduleLongestFirst = getBoolean("scheduleLongestFirst");
+    }
+
+    private static Map<String, String> defaults() {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("timeoutInSeconds", "15");
+        defaults.put("parallelMode", "scenario");
+        defaults.put("threadCount", "1");
+        // 0: one pooled browser per thread (threadCount)
+        defaults.put("driverPoolSize", "0");
+        defaults.put("driverLeaseTimeoutSeconds", "120");
+        defaults.put("warmSession", "false");
+        defaults.put("authSessionTtlSeconds", "900");
+        defaults.put("waitPollInitialMillis", "50");
+        defaults.put("waitPollMaxMillis", "500");
+        defaults.put("waitPollBackoff", "1.5");
+        defaults.put("verifyBulkFormFill", "true");
+        defaults.put("elementCache", "true");
+        defaults.put("localSitePort", "0");
+        // Blank runId: UniqueIdGenerator makes one up per JVM
+        defaults.put("runId", "");
+        defaults.put("shardId", "0");
+        defaults.put("userBufferDepth", "50");
+        defaults.put("userBufferRefillThreshold", "10");
+        defaults.put("provisionUsersAtStart", "0");
+        defaults.put("provisionConcurrency", "4");
+        defaults.put("reportChunkSize", "200");
+        defaults.put("reportFlushSeconds", "30");
+        defaults.put("screenshotFormat", "png");
+        defaults.put("screenshotScale", "1.0");
+        defaults.put("screenshotJpegQuality", "0.8");
+        defaults.put("screenshotMaxDiskMb", "200");
+        defaults.put("screenshotQueueSize", "16");
+        defaults.put("traceCommands", "true");
+        defaults.put("slowCommandMillis", "2000");
+        defaults.put("maxRetries", "2");
+        defaults.put("retryBudget", "10");
+        // Outside target/ so the history survives mvn clean; "none" turns recording off
+        defaults.put("historyFile", "test-history/scenario-history.jsonl");
+        defaults.put("historyRuns", "20");
+        defaults.put("quarantineFlakeRate", "0.3");
+        defaults.put("quarantineMinRuns", "3");
+        defaults.put("scheduleLongestFirst", "true");
+        return defaults;
+    }
+
+    private static FrameworkConfig load() {
+        Properties properties = new Properties();
+        try (FileInputStream input = new FileInputStream(CONFIG_FILE)) {
+            properties.load(input);
+        } catch (IOException e) {
+            throw new RuntimeException("❌ Failed to load config.properties file: " + e.getMessage(), e);
+        }
+
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        for (String key : properties.stringPropertyNames()) {
+            putIfPresent(values, key, properties.getProperty(key));
+        }
+
+        // Every key known so far may be overridden by .env, the environment and system properties
+        for (String key : values.keySet().toArray(new String[0])) {
+            putIfPresent(values, key, EnvironmentLoader.getDotenv(envName(key)));
+            putIfPresent(values, key, System.getenv(envName(key)));
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (values.containsKey(key)) {
+                putIfPresent(values, key, System.getProperty(key));
+            }
+        }
+        return new FrameworkConfig(values);
+    }
+
+    /**
+     * @return The config of the current thread: its overrides if any, otherwise the global config.
+     */
+    public static FrameworkConfig current() {
+        FrameworkConfig override = threadOverride.get();
+        return override != null ? override : global;
+    }
+
+    /**
+     * Installs per-thread overrides on top of the global config, e.g. browser=firefox
+     * for one worker. The overrides are parsed once into a new immutable config.
+     */
+    public static void overrideForCurrentThread(Map<String, String> overrides) {
+        Map<String, String> values = new HashMap<>(global.values);
+        for (Map.Entry<String, String> override : overrides.entrySet()) {
+            putIfPresent(values, override.getKey(), override.getValue());
+        }
+        threadOverride.set(new FrameworkConfig(values));
+    }
+
+    public static void clearThreadOverrides() {
+        threadOverride.remove();
+    }
+
+    // ====== Generic access ======
+
+    /**
+     * @return The raw value of a key, or null if it is not configured.
+     */
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public String getOrDefault(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    private String require(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            throw new RuntimeException("❌ Missing key in config.properties: " + key);
+        }
+        return value;
+    }
+
+    private int getInt(String key) {
+        return Integer.parseInt(require(key));
+    }
+
+    private long getLong(String key) {
+        return Long.parseLong(require(key));
+    }
+
+    private boolean getBoolean(String key) {
+        return Boolean.parseBoolean(require(key));
+    }
+
+    // ====== Typed getters ======
+
+    /**
+     * @return The base URL of the site under test; "local" starts the embedded local site.
+     */
+    public String baseUrl() {
+        return LocalSiteServer.resolveBaseUrl(baseUrl);
+    }
+
+    public String browser() { return browser; }
+    public int timeoutInSeconds() { return timeoutInSeconds; }
+    public ParallelExecution.Mode parallelMode() { return parallelMode; }
+    public int threadCount() { return threadCount; }
+    public int driverPoolSize() { return driverPoolSize; }
+    public long driverLeaseTimeoutSeconds() { return driverLeaseTimeoutSeconds; }
+    public boolean warmSession() { return warmSession; }
+    public long authSessionTtlSeconds() { return authSessionTtlSeconds; }
+    public long waitPollInitialMillis() { return waitPollInitialMillis; }
+    public long waitPollMaxMillis() { return waitPollMaxMillis; }
+    public double waitPollBackoff() { return waitPollBackoff; }
+    public boolean verifyBulkFormFill() { return verifyBulkFormFill; }
+    public boolean elementCache() { return elementCache; }
+    public int localSitePort() { return localSitePort; }
+    public String runId() { return runId; }
+    public String shardId() { return shardId; }
+    public int userBufferDepth() { return userBufferDepth; }
+    public int userBufferRefillThreshold() { return userBufferRefillThreshold; }
+    public int provisionUsersAtStart() { return provisionUsersAtStart; }
+    public int provisionConcurrency() { return provisionConcurrency; }
+    public int reportChunkSize() { return reportChunkSize; }
+    public long reportFlushSeconds() { return reportFlushSeconds; }
+    public String screenshotFormat() { return screenshotFormat; }
+    public double screenshotScale() { return screenshotScale; }
+    public float screenshotJpegQuality() { return screenshotJpegQuality; }
+    public long screenshotMaxDiskMb() { return screenshotMaxDiskMb; }
+    public int screenshotQueueSize() { return screenshotQueueSize; }
+    public boolean traceCommands() { return traceCommands; }
+    public long slowCommandMillis() { return slowCommandMillis; }
+    public int maxRetries() { return maxRetries; }
+    public int retryBudget() { return retryBudget; }
+    public String historyFile() { return historyFile; }
+    public int historyRuns() { return historyRuns; }
+    public double quarantineFlakeRate() { return quarantineFlakeRate; }
+    public int quarantineMinRuns() { return quarantineMinRuns; }
+    public boolean scheduleLongestFirst() { return scheduleLongestFirst; }
+
+    // ====== Helpers ======
+
+    private static void putIfPresent(Map<String, String> values, String key, String value) {
+        if (value != null && !value.isBlank()) {
+            values.put(key, value.trim());
+        }
+    }
+
+    private static ParallelExecution.Mode parseMode(String value) {
+        try {
+            return ParallelExecution.Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("❌ Unsupported parallelMode: " + value + " (expected none, scenario or feature)");
+        }
+    }
+
+    // timeoutInSeconds -> BDD_TIMEOUT_IN_SECONDS
+    private static String envName(String key) {
+        return ENV_PREFIX + key.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,82 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram records durations in fixed logarithmic buckets, so memory does not
+ * grow with the number of samples and recording never takes a lock.
+ *
+ * Each power of two is split into 8 buckets, so reported percentiles are within
+ * about 9% of the true value. Count, total and max are exact.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param value A non-negative sample, e.g. a duration in microseconds.
+     */
+    public void record(long value) {
+        long sample = Math.max(0, value);
+        buckets.incrementAndGet(bucketOf(sample));
+        count.increment();
+        total.add(sample);
+        max.accumulateAndGet(sample, Math::max);
+    }
+
+    public long count() { return count.sum(); }
+    public long total() { return total.sum(); }
+    public long max() { return max.get(); }
+
+    public double mean() {
+        long samples = count();
+        return samples == 0 ? 0 : (double) total() / samples;
+    }
+
+    /**
+     * @param percentile Between 0 and 100, e.g. 95.
+     * @return The upper bound of the bucket holding that percentile, capped at the exact max.
+     */
+    public long percentile(double percentile) {
+        long samples = count();
+        if (samples == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(samples * percentile / 100.0);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += buckets.get(bucket);
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(upperBoundOf(bucket), max());
+            }
+        }
+        return max();
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int power = 63 - Long.numberOfLeadingZeros(value);
+        // The 3 bits below the highest set bit pick the sub-bucket
+        int sub = (int) ((value >>> (power - 3)) & (SUB_BUCKETS - 1));
+        return Math.min(BUCKETS - 1, power * SUB_BUCKETS + sub);
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int power = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (power - 3)) - 1;
+    }
+}
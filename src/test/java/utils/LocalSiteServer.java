@@ -0,0 +1,351 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * LocalSiteServer is a network-free stand-in for the LambdaTest e-commerce playground.
+ *
+ * It serves the fixture pages under src/test/resources/localsite with the same DOM
+ * the page objects target (home, register, login, account, success, logout) and
+ * emulates the server-side validation the features assert, e.g.
+ * "Warning: E-Mail Address is already registered!".
+ *
+ * Select it with baseUrl=local in config.properties; the server is started on
+ * first use on localSitePort (0 = any free port). Accounts live in memory and are
+ * seeded with the known registered email and the accounts in the UserPool, which
+ * with baseUrl=local reads the stand-in's own store (users-local.jsonl).
+ */
+public class LocalSiteServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalSiteServer.class);
+
+    public static final String LOCAL = "local";
+
+    private static final String TEMPLATE_DIR = "/localsite/";
+    private static final String SESSION_COOKIE = "OCSESSID";
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private static HttpServer server;
+    private static String baseUrl;
+
+    // email -> password of every registered account
+    private static final Map<String, String> accounts = new ConcurrentHashMap<>();
+    // session id -> email of the logged-in customer ("" when anonymous)
+    private static final Map<String, String> sessions = new ConcurrentHashMap<>();
+    private static final Map<String, String> templates = new ConcurrentHashMap<>();
+
+    private LocalSiteServer() {
+    }
+
+    /**
+     * Returns the configured base URL, starting the local site first when it is "local".
+     */
+    public static String resolveBaseUrl(String configuredBaseUrl) {
+        if (LOCAL.equalsIgnoreCase(configuredBaseUrl)) {
+            return start();
+        }
+        return configuredBaseUrl;
+    }
+
+    /**
+     * Starts the server once per JVM.
+     *
+     * @return The base URL of the local site, e.g. http://localhost:51234
+     */
+    public static synchronized String start() {
+        if (server != null) {
+            return baseUrl;
+        }
+        try {
+            int port = FrameworkConfig.current().localSitePort();
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/", LocalSiteServer::handle);
+            server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "local-site");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            seedAccounts();
+            server.start();
+            baseUrl = "http://localhost:" + server.getAddress().getPort();
+            logger.info("🏠 Local e-commerce site running at {}", baseUrl);
+            return baseUrl;
+        } catch (IOException e) {
+            throw new RuntimeException("❌ Failed to start local site server: " + e.getMessage(), e);
+        }
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            baseUrl = null;
+            sessions.clear();
+            logger.info("🏠 Local e-commerce site stopped");
+        }
+    }
+
+    /**
+     * Registers an account directly, e.g. to prepare a precondition without the UI.
+     */
+    public static void addAccount(String email, String password) {
+        accounts.put(email.toLowerCase(), password);
+    }
+
+    private static void seedAccounts() {
+        addAccount("khakaalwande@gmail.com", "Password123");
+        // With baseUrl=local the pool holds the stand-in's own accounts; otherwise they belong to the live site
+        if (!LOCAL.equalsIgnoreCase(FrameworkConfig.current().get("baseUrl"))) {
+            return;
+        }
+        for (UserRecord user : UserPool.getInstance().all()) {
+            addAccount(user.getEmail(), user.getPassword());
+        }
+    }
+
+    // ====== Request handling ======
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            Map<String, String> query = parseForm(exchange.getRequestURI().getRawQuery());
+            String route = query.getOrDefault("route", "common/home");
+            boolean post = "POST".equalsIgnoreCase(exchange.getRequestMethod());
+            Map<String, String> form = post ? parseForm(readBody(exchange)) : new HashMap<>();
+            String sessionId = session(exchange);
+
+            switch (route) {
+                case "common/home":
+                    render(exchange, sessionId, "Your Store", template("home.html"));
+                    break;
+                case "account/register":
+                    handleRegister(exchange, sessionId, post, form);
+                    break;
+                case "account/login":
+                    handleLogin(exchange, sessionId, post, form);
+                    break;
+                case "account/account":
+                case "account/edit":
+                    if (!isLoggedIn(sessionId)) {
+                        redirect(exchange, "index.php?route=account/login");
+                    } else {
+                        render(exchange, sessionId, "My Account", template("account.html"));
+                    }
+                    break;
+                case "account/success":
+                    render(exchange, sessionId, "Your Account Has Been Created!", template("success.html"));
+                    break;
+                case "account/logout":
+                    sessions.put(sessionId, "");
+                    render(exchange, sessionId, "Account Logout", template("logout.html"));
+                    break;
+                default:
+                    send(exchange, 404, "text/plain", "Not found: " + route);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Local site failed to handle {}: {}", exchange.getRequestURI(), e.getMessage());
+            send(exchange, 500, "text/plain", "Internal error: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Mirrors the registration validation of the real site.
+     */
+    private static void handleRegister(HttpExchange exchange, String sessionId, boolean post,
+                                       Map<String, String> form) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        for (String field : List.of("firstname", "lastname", "email", "telephone")) {
+            values.put(field, escape(form.getOrDefault(field, "")));
+        }
+        if (!post) {
+            render(exchange, sessionId, "Register Account", fill(template("register.html"), values));
+            return;
+        }
+
+        String email = form.getOrDefault("email", "").trim();
+        String password = form.getOrDefault("password", "");
+        Map<String, String> errors = new LinkedHashMap<>();
+        String warning = null;
+
+        if (accounts.containsKey(email.toLowerCase())) {
+            warning = "Warning: E-Mail Address is already registered!";
+        }
+        if (!lengthBetween(form.get("firstname"), 1, 32)) {
+            errors.put("firstname", "First Name must be between 1 and 32 characters!");
+        }
+        if (!lengthBetween(form.get("lastname"), 1, 32)) {
+            errors.put("lastname", "Last Name must be between 1 and 32 characters!");
+        }
+        if (email.length() > 96 || !EMAIL_PATTERN.matcher(email).matches()) {
+            errors.put("email", "E-Mail Address does not appear to be valid!");
+        }
+        if (!lengthBetween(form.get("telephone"), 3, 32)) {
+            errors.put("telephone", "Telephone must be between 3 and 32 characters!");
+        }
+        if (!lengthBetween(password, 4, 20)) {
+            errors.put("password", "Password must be between 4 and 20 characters!");
+        }
+        if (!form.getOrDefault("confirm", "").equals(password)) {
+            errors.put("confirm", "Password confirmation does not match password!");
+        }
+        if (!form.containsKey("agree")) {
+            warning = "Warning: You must agree to the Privacy Policy!";
+        }
+
+        if (warning == null && errors.isEmpty()) {
+            addAccount(email, password);
+            sessions.put(sessionId, email.toLowerCase());
+            redirect(exchange, "index.php?route=account/success");
+            return;
+        }
+
+        values.put("warning", warning == null ? "" : alert(warning));
+        for (Map.Entry<String, String> error : errors.entrySet()) {
+            values.put("error_" + error.getKey(), "<div class=\"text-danger\">" + escape(error.getValue()) + "</div>");
+        }
+        render(exchange, sessionId, "Register Account", fill(template("register.html"), values));
+    }
+
+    private static void handleLogin(HttpExchange exchange, String sessionId, boolean post,
+                                    Map<String, String> form) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        values.put("email", escape(form.getOrDefault("email", "")));
+        if (post) {
+            String email = form.getOrDefault("email", "").trim().toLowerCase();
+            String password = accounts.get(email);
+            if (password != null && password.equals(form.get("password"))) {
+                sessions.put(sessionId, email);
+                redirect(exchange, "index.php?route=account/account");
+                return;
+            }
+            values.put("warning", alert("Warning: No match for E-Mail Address and/or Password."));
+        }
+        render(exchange, sessionId, "Account Login", fill(template("login.html"), values));
+    }
+
+    // ====== Rendering ======
+
+    private static void render(HttpExchange exchange, String sessionId, String title, String content) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        values.put("title", escape(title));
+        values.put("accountMenu", template(isLoggedIn(sessionId) ? "menu-customer.html" : "menu-guest.html"));
+        values.put("content", content);
+        send(exchange, 200, "text/html; charset=UTF-8", fill(template("layout.html"), values));
+    }
+
+    /**
+     * Replaces {{key}} placeholders; placeholders without a value are removed.
+     */
+    private static String fill(String template, Map<String, String> values) {
+        String result = template;
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            result = result.replace("{{" + value.getKey() + "}}", value.getValue());
+        }
+        return result.replaceAll("\\{\\{[a-z_A-Z]+}}", "");
+    }
+
+    private static String template(String name) {
+        return templates.computeIfAbsent(name, key -> {
+            try (InputStream input = LocalSiteServer.class.getResourceAsStream(TEMPLATE_DIR + key)) {
+                if (input == null) {
+                    throw new RuntimeException("❌ Missing local site template: " + key);
+                }
+                return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new RuntimeException("❌ Failed to read local site template: " + key, e);
+            }
+        });
+    }
+
+    private static String alert(String message) {
+        return "<div class=\"alert alert-danger alert-dismissible\">" + escape(message) + "</div>";
+    }
+
+    // ====== HTTP helpers ======
+
+    private static String session(HttpExchange exchange) {
+        String cookies = exchange.getRequestHeaders().getFirst("Cookie");
+        if (cookies != null) {
+            for (String cookie : cookies.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && pair[0].equals(SESSION_COOKIE) && sessions.containsKey(pair[1])) {
+                    return pair[1];
+                }
+            }
+        }
+        String sessionId = UUID.randomUUID().toString().replace("-", "");
+        sessions.put(sessionId, "");
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + sessionId + "; Path=/");
+        return sessionId;
+    }
+
+    private static boolean isLoggedIn(String sessionId) {
+        return !sessions.getOrDefault(sessionId, "").isEmpty();
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().add("Location", URI.create(baseUrl + "/").resolve(location).toString());
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, String> parseForm(String encoded) {
+        Map<String, String> values = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return values;
+        }
+        for (String pair : encoded.split("&")) {
+            String[] parts = pair.split("=", 2);
+            String key = URLDecoder.decode(parts[0], StandardCharsets.UTF_8);
+            String value = parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "";
+            values.put(key, value);
+        }
+        return values;
+    }
+
+    private static boolean lengthBetween(String value, int min, int max) {
+        int length = value == null ? 0 : value.trim().length();
+        return length >= min && length <= max;
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&#39;");
+    }
+}
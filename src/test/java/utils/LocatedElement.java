@@ -0,0 +1,14 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+/**
+ * Implemented by page object elements that know the locator they were declared with.
+ */
+public interface LocatedElement {
+
+    /**
+     * @return The By built from the element's @FindBy annotation.
+     */
+    By getLocator();
+}
@@ -0,0 +1,71 @@
+package utils;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+/**
+ * LocatorRegistry holds the real By locator of every @FindBy field, per page object class.
+ *
+ * Page objects register their class once when it is loaded; the annotations are
+ * read with reflection a single time and cached as class -> field name -> By.
+ * Waits and retries look the locator up here instead of parsing WebElement.toString().
+ */
+public final class LocatorRegistry {
+
+    private static final ConcurrentMap<Class<?>, Map<String, By>> locators = new ConcurrentHashMap<>();
+
+    private LocatorRegistry() {
+    }
+
+    /**
+     * Scans the @FindBy, @FindBys and @FindAll fields of a page object class (once).
+     *
+     * @return The field name to locator mapping of the class.
+     */
+    public static Map<String, By> register(Class<?> pageClass) {
+        return locators.computeIfAbsent(pageClass, LocatorRegistry::scan);
+    }
+
+    /**
+     * @return The locator of the given field, or null if it is not an annotated element field.
+     */
+    public static By get(Class<?> pageClass, String fieldName) {
+        return register(pageClass).get(fieldName);
+    }
+
+    /**
+     * @return The declared locator of a page object element, or null for elements
+     *         that were not created from an annotated page object field.
+     */
+    public static By locatorOf(WebElement element) {
+        if (element instanceof LocatedElement) {
+            return ((LocatedElement) element).getLocator();
+        }
+        return null;
+    }
+
+    private static Map<String, By> scan(Class<?> pageClass) {
+        Map<String, By> byField = new LinkedHashMap<>();
+        for (Class<?> type = pageClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(FindBy.class)
+                        || field.isAnnotationPresent(FindBys.class)
+                        || field.isAnnotationPresent(FindAll.class)) {
+                    byField.putIfAbsent(field.getName(), new Annotations(field).buildBy());
+                }
+            }
+        }
+        return Collections.unmodifiableMap(byField);
+    }
+}
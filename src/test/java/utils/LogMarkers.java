@@ -0,0 +1,19 @@
+package utils;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * SLF4J markers understood by log4j2.xml.
+ */
+public final class LogMarkers {
+
+    /**
+     * Run-level lines (scenario results, timing summaries) that reach the console
+     * even with -DconsoleLogLevel=off.
+     */
+    public static final Marker SUMMARY = MarkerFactory.getMarker("SUMMARY");
+
+    private LogMarkers() {
+    }
+}
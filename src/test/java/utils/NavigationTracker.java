@@ -0,0 +1,39 @@
+package utils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.SearchContext;
+
+/**
+ * NavigationTracker keeps a navigation counter ("epoch") per browser.
+ *
+ * Anything that loads or re-renders a page bumps the epoch. Cached elements
+ * remember the epoch they were resolved in, so checking whether a cached element
+ * may still be valid is a local comparison instead of a round trip to the browser.
+ */
+public final class NavigationTracker {
+
+    private static final Map<SearchContext, AtomicLong> epochs = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private NavigationTracker() {
+    }
+
+    /**
+     * @return The live epoch counter of the given browser; callers may keep the reference.
+     */
+    public static AtomicLong epochOf(SearchContext searchContext) {
+        synchronized (epochs) {
+            return epochs.computeIfAbsent(searchContext, context -> new AtomicLong());
+        }
+    }
+
+    /**
+     * Records that the given browser navigated, invalidating all elements cached for it.
+     */
+    public static void navigated(SearchContext searchContext) {
+        epochOf(searchContext).incrementAndGet();
+    }
+}
@@ -0,0 +1,115 @@
+package utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * PageObjectFactory is a faster replacement for PageFactory.initElements.
+ *
+ * The annotations of a page class are scanned once (locators come from
+ * {@link LocatorRegistry}) and the resulting field list is cached, so
+ * initialising a page only assigns one {@link ElementHandle} per field.
+ * {@link #get(Class)} additionally reuses page instances per browser session,
+ * so step classes no longer rebuild their pages before every scenario.
+ */
+public final class PageObjectFactory {
+
+    // Cached per page class: the element fields to populate, already made accessible
+    private static final ConcurrentMap<Class<?>, List<ElementField>> metadata = new ConcurrentHashMap<>();
+
+    // Page instances per browser session, removed by forget() when the driver is quit.
+    // Pages hold their driver, so a weak map would never let an entry go.
+    private static final ConcurrentMap<WebDriver, Map<Class<?>, Object>> pages = new ConcurrentHashMap<>();
+
+    private PageObjectFactory() {
+    }
+
+    private static final class ElementField {
+        final Field field;
+        final By locator;
+
+        ElementField(Field field, By locator) {
+            this.field = field;
+            this.locator = locator;
+        }
+    }
+
+    /**
+     * Returns the page object of the given class for the current thread's driver,
+     * creating it with its no-arg constructor the first time.
+     */
+    public static <T> T get(Class<T> pageClass) {
+        WebDriver driver = DriverManager.getDriver();
+        Map<Class<?>, Object> sessionPages = pages.computeIfAbsent(driver, d -> new HashMap<>());
+        // A driver is leased by one thread at a time, so its page map is never shared concurrently
+        Object page = sessionPages.get(pageClass);
+        if (page == null) {
+            page = newInstance(pageClass);
+            sessionPages.put(pageClass, page);
+        }
+        return pageClass.cast(page);
+    }
+
+    /**
+     * Drops the page objects of a browser session, called when the driver is quit.
+     */
+    public static void forget(WebDriver driver) {
+        pages.remove(driver);
+    }
+
+    /**
+     * Assigns an {@link ElementHandle} to every @FindBy WebElement field of the page.
+     * Handles cache their element until the next navigation unless elementCache=false.
+     */
+    public static void initElements(SearchContext searchContext, Object page) {
+        boolean cacheEnabled = FrameworkConfig.current().elementCache();
+        for (ElementField elementField : metadata.computeIfAbsent(page.getClass(), PageObjectFactory::scan)) {
+            try {
+                elementField.field.set(page, new ElementHandle(searchContext, elementField.locator, cacheEnabled));
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("❌ Cannot initialise element field " + elementField.field, e);
+            }
+        }
+    }
+
+    private static List<ElementField> scan(Class<?> pageClass) {
+        Map<String, By> locators = LocatorRegistry.register(pageClass);
+        List<ElementField> fields = new ArrayList<>();
+        for (Class<?> type = pageClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                By locator = locators.get(field.getName());
+                if (locator == null) {
+                    continue;
+                }
+                if (!WebElement.class.equals(field.getType())) {
+                    throw new IllegalStateException("❌ Only WebElement fields are supported: " + field);
+                }
+                field.setAccessible(true);
+                fields.add(new ElementField(field, locator));
+            }
+        }
+        return Collections.unmodifiableList(fields);
+    }
+
+    private static <T> T newInstance(Class<T> pageClass) {
+        try {
+            Constructor<T> constructor = pageClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("❌ Cannot create page object " + pageClass.getName(), e);
+        }
+    }
+}
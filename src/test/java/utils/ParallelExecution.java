@@ -0,0 +1,56 @@
+package utils;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ParallelExecution resolves how the Cucumber scenarios are distributed over threads.
+ *
+ * Settings come from FrameworkConfig, so system properties (e.g. -DthreadCount=4)
+ * override config.properties:
+ *  - threadCount  : number of TestNG data provider threads (default 1)
+ *  - parallelMode : none | scenario | feature (default scenario)
+ *
+ * In "feature" mode scenarios of the same feature never overlap; different
+ * features still run concurrently. In "none" mode everything runs on one thread.
+ */
+public class ParallelExecution {
+
+    public enum Mode { NONE, SCENARIO, FEATURE }
+
+    // One lock per feature file, only used in FEATURE mode
+    private static final ConcurrentMap<URI, ReentrantLock> featureLocks = new ConcurrentHashMap<>();
+
+    private ParallelExecution() {
+    }
+
+    public static Mode mode() {
+        return FrameworkConfig.current().parallelMode();
+    }
+
+    public static int threadCount() {
+        return FrameworkConfig.current().threadCount();
+    }
+
+    /**
+     * Blocks until the current thread may run a scenario of the given feature.
+     * Does nothing unless the run is in FEATURE mode.
+     */
+    public static void enterFeature(URI featureUri) {
+        if (mode() == Mode.FEATURE) {
+            featureLocks.computeIfAbsent(featureUri, uri -> new ReentrantLock(true)).lock();
+        }
+    }
+
+    /**
+     * Releases the feature slot taken by {@link #enterFeature(URI)}.
+     */
+    public static void exitFeature(URI featureUri) {
+        ReentrantLock lock = featureLocks.get(featureUri);
+        if (lock != null && lock.isHeldByCurrentThread()) {
+            lock.unlock();
+        }
+    }
+}
@@ -1,25 +1,103 @@
 package utils;
 
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 
+/**
+ * Retries scenarios that failed for a transient reason.
+ *
+ * Attached to every Cucumber scenario by {@link RetryTransformer}. A failure is
+ * retried only if {@link FailureClassifier} calls it transient, at most maxRetries
+ * times per scenario and within a retryBudget shared by the whole run, so a
+ * broken build does not retry its way through every scenario. The retry runs on a
+ * fresh browser: the session the failed attempt used is quit.
+ *
+ * Flakiness stats are kept per run: scenarios that passed on a retry are flaky.
+ */
 public class RetryAnalyzer implements IRetryAnalyzer {
+    private static final Logger logger = LoggerFactory.getLogger(RetryAnalyzer.class);
+
+    private static final AtomicInteger budget = new AtomicInteger(FrameworkConfig.current().retryBudget());
+
+    // ====== Flakiness stats of this run ======
+    private static final AtomicInteger retried = new AtomicInteger();
+    private static final AtomicInteger notRetried = new AtomicInteger();
+    private static final AtomicInteger budgetDenied = new AtomicInteger();
+    // Scenario name -> retries it needed before it passed
+    private static final Map<String, Integer> flaky = new ConcurrentHashMap<>();
+
+    // TestNG keeps one analyzer per scenario, so this counts the retries of one scenario
     private int retryCount = 0;
-    private static final int maxRetryCount = 2; // will retry 2 times
 
     @Override
     public boolean retry(ITestResult result) {
-        if (retryCount < maxRetryCount) {
-            retryCount++;
-            System.out.println("Retrying test " + result.getName() + " again, attempt " + (retryCount+1));
-            
-            // Mark test as flaky if retry occurs
-            result.setAttribute("isFlaky", true);
-            result.setAttribute("retryCount", retryCount);
-            
-            
-            return true;
+        String name = scenarioName(result);
+        FailureClassifier.Kind kind = FailureClassifier.classify(result.getThrowable());
+        if (kind != FailureClassifier.Kind.TRANSIENT) {
+            notRetried.incrementAndGet();
+            logger.info("🚫 Not retrying {}: {} failure", name, kind.name().toLowerCase(Locale.ROOT));
+            return false;
+        }
+        int maxRetries = FrameworkConfig.current().maxRetries();
+        if (retryCount >= maxRetries) {
+            logger.warn("🚫 Not retrying {}: already retried {} time(s)", name, retryCount);
+            return false;
+        }
+        if (budget.getAndUpdate(left -> Math.max(0, left - 1)) == 0) {
+            budgetDenied.incrementAndGet();
+            logger.warn("💸 Retry budget of the run is used up, not retrying {}", name);
+            return false;
+        }
+        retryCount++;
+        retried.incrementAndGet();
+        // The failed attempt's browser may be the cause, so the retry gets a new session
+        DriverManager.discardLastDriver();
+
+        logger.warn("🔁 Retrying {} after {} (retry {} of {}, {} left in run budget)", name,
+            result.getThrowable().getClass().getSimpleName(), retryCount, maxRetries, budget.get());
+        return true;
+    }
+
+    /**
+     * Records a scenario that passed after being retried.
+     */
+    public static void recordPassedOnRetry(String scenarioName, int retries) {
+        flaky.merge(scenarioName, retries, Integer::sum);
+    }
+
+    /**
+     * @return Scenario names that passed only on a retry, with the retries they needed.
+     */
+    public static Map<String, Integer> flakyScenarios() {
+        return Map.copyOf(flaky);
+    }
+
+    /**
+     * @return A one-line summary of this run's retries, or null if nothing failed.
+     */
+    public static String summary() {
+        if (retried.get() == 0 && notRetried.get() == 0 && budgetDenied.get() == 0) {
+            return null;
+        }
+        return "🔁 Retries: " + retried.get() + " transient, " + flaky.size() + " flaky scenario(s) passed on retry, "
+            + notRetried.get() + " failure(s) not retried, " + budgetDenied.get() + " denied by the run budget"
+            + (flaky.isEmpty() ? "" : " " + flaky.keySet());
+    }
+
+    private static String scenarioName(ITestResult result) {
+        ScenarioContext context = ScenarioContext.lastOnThread();
+        if (context != null) {
+            return context.getName();
         }
-        return false;
+        Object[] parameters = result.getParameters();
+        // PickleWrapper prints the scenario name in quotes
+        return parameters.length > 0 ? String.valueOf(parameters[0]).replace("\"", "") : result.getName();
     }
 }
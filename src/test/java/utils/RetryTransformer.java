@@ -0,0 +1,27 @@
+package utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+
+/**
+ * Attaches {@link RetryAnalyzer} to the Cucumber scenario tests.
+ *
+ * The scenarios run through the runScenario method inherited from
+ * AbstractTestNGCucumberTests, which cannot carry a retryAnalyzer itself. Registered
+ * in testng.xml, since TestNG only picks up annotation transformers from there.
+ */
+public class RetryTransformer implements IAnnotationTransformer {
+
+    @Override
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        // Leaves tests that declare their own retry analyzer alone
+        if (annotation.getRetryAnalyzerClass() == null
+                || annotation.getRetryAnalyzerClass() == DisabledRetryAnalyzer.class) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+}
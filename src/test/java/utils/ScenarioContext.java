@@ -0,0 +1,173 @@
+package utils;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.MDC;
+
+import com.aventstack.extentreports.ExtentTest;
+
+/**
+ * ScenarioContext holds everything that belongs to the running scenario:
+ * the leased driver, the Extent node, timings and attachments.
+ *
+ * Hooks starts a context before the first step and ends it after the last hook.
+ * It is reachable from the worker thread ({@link #current()}) and by scenario id
+ * ({@link #byId(String)}), so hooks, steps and listeners read it directly without
+ * reflection, in serial and parallel runs alike.
+ *
+ * The context a thread finished last stays available through {@link #lastOnThread()}
+ * for TestNG listeners, which are called after the Cucumber hooks have completed.
+ *
+ * While a context is running, the MDC of its thread carries scenarioId, scenario
+ * (the name) and attempt, so every log line can be traced back to its scenario.
+ */
+public final class ScenarioContext {
+
+    public static final String MDC_SCENARIO_ID = "scenarioId";
+    public static final String MDC_SCENARIO = "scenario";
+    public static final String MDC_ATTEMPT = "attempt";
+
+    private static final ThreadLocal<ScenarioContext> current = new ThreadLocal<>();
+    private static final ThreadLocal<ScenarioContext> last = new ThreadLocal<>();
+    private static final Map<String, ScenarioContext> byId = new ConcurrentHashMap<>();
+    // Scenario ids are stable across retries, so this counts the runs of each scenario
+    private static final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+    private final String id;
+    private final String name;
+    private final int attempt;
+    private final long startNanos = System.nanoTime();
+
+    private volatile WebDriver driver;
+    private volatile ExtentTest extentTest;
+    private volatile boolean failed;
+    // Insertion ordered so reports list timings in the order they were taken
+    private final Map<String, Long> timingsMillis = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final List<Path> attachments = new CopyOnWriteArrayList<>();
+    // WebDriver command type -> {count, total nanos}
+    private final Map<String, long[]> commands = new ConcurrentHashMap<>();
+
+    private ScenarioContext(String id, String name, int attempt) {
+        this.id = id;
+        this.name = name;
+        this.attempt = attempt;
+    }
+
+    /**
+     * Starts the context of a scenario on the current thread.
+     */
+    public static ScenarioContext start(String id, String name) {
+        int attempt = attempts.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+        ScenarioContext context = new ScenarioContext(id, name, attempt);
+        current.set(context);
+        byId.put(id, context);
+        MDC.put(MDC_SCENARIO_ID, id);
+        MDC.put(MDC_SCENARIO, name);
+        MDC.put(MDC_ATTEMPT, String.valueOf(attempt));
+        return context;
+    }
+
+    /**
+     * Ends the current thread's context. It remains available through {@link #lastOnThread()}.
+     */
+    public static void end() {
+        ScenarioContext context = current.get();
+        if (context != null) {
+            context.recordTiming("scenario", (System.nanoTime() - context.startNanos) / 1_000_000L);
+            byId.remove(context.id);
+            current.remove();
+            last.set(context);
+            MDC.remove(MDC_SCENARIO_ID);
+            MDC.remove(MDC_SCENARIO);
+            MDC.remove(MDC_ATTEMPT);
+        }
+    }
+
+    /**
+     * @return The context of the scenario running on this thread, or null outside a scenario.
+     */
+    public static ScenarioContext current() {
+        return current.get();
+    }
+
+    public static ScenarioContext byId(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * @return The running context, or the one this thread finished last.
+     */
+    public static ScenarioContext lastOnThread() {
+        ScenarioContext context = current.get();
+        return context != null ? context : last.get();
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+
+    /**
+     * @return 1 for the first run of the scenario, 2 for its first retry, and so on.
+     */
+    public int getAttempt() { return attempt; }
+
+    public WebDriver getDriver() { return driver; }
+    public void setDriver(WebDriver driver) { this.driver = driver; }
+
+    public ExtentTest getExtentTest() { return extentTest; }
+    public void setExtentTest(ExtentTest extentTest) { this.extentTest = extentTest; }
+
+    public boolean isFailed() { return failed; }
+    public void setFailed(boolean failed) { this.failed = failed; }
+
+    public void recordTiming(String label, long millis) {
+        timingsMillis.put(label, millis);
+    }
+
+    public Map<String, Long> getTimings() {
+        synchronized (timingsMillis) {
+            return new LinkedHashMap<>(timingsMillis);
+        }
+    }
+
+    public void recordCommand(String type, long nanos) {
+        long[] stats = commands.computeIfAbsent(type, key -> new long[2]);
+        // Commands of a scenario come from its own worker thread
+        stats[0]++;
+        stats[1] += nanos;
+    }
+
+    /**
+     * @return Count and total milliseconds per WebDriver command type, most frequent first.
+     */
+    public Map<String, long[]> getCommandStats() {
+        Map<String, long[]> stats = new LinkedHashMap<>();
+        commands.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]))
+            .forEach(entry -> stats.put(entry.getKey(), new long[] {entry.getValue()[0], entry.getValue()[1] / 1_000_000L}));
+        return stats;
+    }
+
+    public long getCommandCount() {
+        long total = 0;
+        for (long[] stats : commands.values()) {
+            total += stats[0];
+        }
+        return total;
+    }
+
+    public void addAttachment(Path path) {
+        attachments.add(path);
+    }
+
+    public List<Path> getAttachments() {
+        return Collections.unmodifiableList(attachments);
+    }
+}
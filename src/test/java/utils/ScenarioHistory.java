@@ -0,0 +1,310 @@
+package utils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * ScenarioHistory keeps the outcome and duration of every scenario attempt across runs.
+ *
+ * The store is an append-only JSON lines file (historyFile, default
+ * test-history/scenario-history.jsonl), one line per attempt. It lives outside target/
+ * so it survives mvn clean and can be cached between CI builds. Attempts are collected
+ * in memory during the run and appended in a single write by {@link #flush()}.
+ *
+ * Queries look at the last historyRuns runs:
+ *  - {@link #slowest(int)}  : highest median duration first
+ *  - {@link #flakiest(int)} : highest flake rate first
+ *  - {@link #quarantined()} : scenarios flaky in at least quarantineFlakeRate of
+ *    their runs (and seen in quarantineMinRuns runs), also written to quarantine.txt
+ *
+ * A run is flaky for a scenario when the scenario failed and then passed on a retry
+ * within that run. Outcomes are not compared across runs: a regression that is later
+ * fixed is two honest results, not flakiness. A scenario that fails every time is
+ * broken, not flaky.
+ */
+public final class ScenarioHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioHistory.class);
+
+    private static final String QUARANTINE_FILE = "quarantine.txt";
+
+    // Attempts of the current run, appended to the store by flush()
+    private static final List<JsonObject> pending = Collections.synchronizedList(new ArrayList<>());
+
+    /** Aggregated history of one scenario. */
+    public static final class Stats {
+        private final String key;
+        private final String name;
+        private int runs;
+        private int failedRuns;
+        private int flakyRuns;
+        private long medianMillis;
+
+        private Stats(String key, String name) {
+            this.key = key;
+            this.name = name;
+        }
+
+        public String getKey() { return key; }
+        public String getName() { return name; }
+        /** Runs the scenario took part in. */
+        public int getRuns() { return runs; }
+        /** Runs whose final attempt failed. */
+        public int getFailedRuns() { return failedRuns; }
+        public int getFlakyRuns() { return flakyRuns; }
+        /** Median duration of its passed attempts, or of all attempts if none passed. */
+        public long getMedianMillis() { return medianMillis; }
+
+        public double getFlakeRate() {
+            return runs == 0 ? 0 : (double) flakyRuns / runs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d ms median, %d run(s), %d failed, %d flaky (%.0f%%)",
+                key, medianMillis, runs, failedRuns, flakyRuns, getFlakeRate() * 100);
+        }
+    }
+
+    private final Map<String, Stats> stats;
+
+    private ScenarioHistory(Map<String, Stats> stats) {
+        this.stats = stats;
+    }
+
+    // ====== Recording ======
+
+    /**
+     * Builds the key a scenario is stored under: the feature file name and the scenario name,
+     * e.g. "LoginUser.feature :: Login with Invalid Password". It does not change when lines move.
+     */
+    public static String keyOf(URI featureUri, String scenarioName) {
+        String path = featureUri.getPath() != null ? featureUri.getPath() : featureUri.getSchemeSpecificPart();
+        return path.substring(path.lastIndexOf('/') + 1) + " :: " + scenarioName;
+    }
+
+    /**
+     * Records one finished attempt of a scenario of this run.
+     */
+    public static void record(URI featureUri, String scenarioName, int attempt, boolean passed, long durationMillis) {
+        if (!enabled()) {
+            return;
+        }
+        JsonObject entry = new JsonObject();
+        entry.addProperty("run", UniqueIdGenerator.getInstance().runId());
+        entry.addProperty("key", keyOf(featureUri, scenarioName));
+        entry.addProperty("attempt", attempt);
+        entry.addProperty("passed", passed);
+        entry.addProperty("ms", durationMillis);
+        entry.addProperty("at", System.currentTimeMillis());
+        pending.add(entry);
+    }
+
+    /**
+     * Appends the attempts of this run to the store, compacts it when it holds more than
+     * twice historyRuns runs, rewrites quarantine.txt and logs the slowest and flakiest scenarios.
+     */
+    public static void flush() {
+        List<JsonObject> entries;
+        synchronized (pending) {
+            entries = new ArrayList<>(pending);
+            pending.clear();
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        Path store = store();
+        try {
+            Files.createDirectories(store.toAbsolutePath().getParent());
+            StringBuilder lines = new StringBuilder();
+            for (JsonObject entry : entries) {
+                lines.append(entry).append(System.lineSeparator());
+            }
+            Files.writeString(store, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+            ScenarioHistory history = load();
+            List<String> quarantined = history.quarantined();
+            Files.write(store.resolveSibling(QUARANTINE_FILE), quarantined, StandardCharsets.UTF_8);
+
+            logger.info(LogMarkers.SUMMARY, "🗃️ Recorded {} attempt(s) in {}; slowest: {}", entries.size(), store,
+                history.slowest(3).stream().map(s -> s.getName() + " " + s.getMedianMillis() + " ms")
+                    .collect(Collectors.joining(", ")));
+            if (!quarantined.isEmpty()) {
+                logger.warn(LogMarkers.SUMMARY, "🧪 {} scenario(s) quarantined as flaky: {}", quarantined.size(), quarantined);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not update scenario history {}: {}", store, e.getMessage());
+        }
+    }
+
+    // ====== Queries ======
+
+    /**
+     * Reads the store, compacting it first if it has grown past twice historyRuns runs.
+     *
+     * @return The history of the last historyRuns runs; empty if there is none yet.
+     */
+    public static ScenarioHistory load() {
+        Path store = store();
+        if (!enabled() || !Files.exists(store)) {
+            return new ScenarioHistory(Collections.emptyMap());
+        }
+        int keptRuns = FrameworkConfig.current().historyRuns();
+        try {
+            List<String> lines = Files.readAllLines(store, StandardCharsets.UTF_8);
+            // run id -> its attempts, in file order
+            Map<String, List<JsonObject>> byRun = new LinkedHashMap<>();
+            for (String line : lines) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonObject entry = JsonParser.parseString(line).getAsJsonObject();
+                    byRun.computeIfAbsent(entry.get("run").getAsString(), run -> new ArrayList<>()).add(entry);
+                } catch (RuntimeException e) {
+                    // A line cut short by a killed run; the rest of the store is still good
+                    logger.debug("Skipping unreadable history line: {}", line);
+                }
+            }
+            List<List<JsonObject>> runs = new ArrayList<>(byRun.values());
+            if (runs.size() > 2 * keptRuns) {
+                compact(store, runs.subList(runs.size() - keptRuns, runs.size()));
+            }
+            return new ScenarioHistory(aggregate(runs.subList(Math.max(0, runs.size() - keptRuns), runs.size())));
+        } catch (IOException e) {
+            logger.warn("Could not read scenario history {}: {}", store, e.getMessage());
+            return new ScenarioHistory(Collections.emptyMap());
+        }
+    }
+
+    public boolean isEmpty() {
+        return stats.isEmpty();
+    }
+
+    /**
+     * @return The history of a scenario, or null if it never ran.
+     */
+    public Stats get(String key) {
+        return stats.get(key);
+    }
+
+    public List<Stats> slowest(int limit) {
+        return top(Comparator.comparingLong(Stats::getMedianMillis).reversed(), limit);
+    }
+
+    public List<Stats> flakiest(int limit) {
+        return stats.values().stream()
+            .filter(s -> s.getFlakyRuns() > 0)
+            .sorted(Comparator.comparingDouble(Stats::getFlakeRate).reversed()
+                .thenComparing(Comparator.comparingInt(Stats::getFlakyRuns).reversed()))
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * @return Keys of the scenarios flaky often enough to be quarantined, flakiest first.
+     */
+    public List<String> quarantined() {
+        FrameworkConfig config = FrameworkConfig.current();
+        return flakiest(Integer.MAX_VALUE).stream()
+            .filter(s -> s.getRuns() >= config.quarantineMinRuns() && s.getFlakeRate() >= config.quarantineFlakeRate())
+            .map(Stats::getKey)
+            .collect(Collectors.toList());
+    }
+
+    private List<Stats> top(Comparator<Stats> order, int limit) {
+        return stats.values().stream().sorted(order).limit(limit).collect(Collectors.toList());
+    }
+
+    // ====== Helpers ======
+
+    private static boolean enabled() {
+        return !"none".equalsIgnoreCase(FrameworkConfig.current().historyFile());
+    }
+
+    private static Path store() {
+        return Paths.get(FrameworkConfig.current().historyFile());
+    }
+
+    private static Map<String, Stats> aggregate(List<List<JsonObject>> runs) {
+        Map<String, Stats> stats = new HashMap<>();
+        Map<String, List<Long>> passedMillis = new HashMap<>();
+        Map<String, List<Long>> allMillis = new HashMap<>();
+
+        for (List<JsonObject> run : runs) {
+            // key -> outcomes of its attempts in this run, in attempt order
+            Map<String, List<Boolean>> outcomes = new LinkedHashMap<>();
+            run.sort(Comparator.comparingInt(entry -> entry.get("attempt").getAsInt()));
+            for (JsonObject entry : run) {
+                String key = entry.get("key").getAsString();
+                boolean passed = entry.get("passed").getAsBoolean();
+                long millis = entry.get("ms").getAsLong();
+                outcomes.computeIfAbsent(key, k -> new ArrayList<>()).add(passed);
+                allMillis.computeIfAbsent(key, k -> new ArrayList<>()).add(millis);
+                if (passed) {
+                    passedMillis.computeIfAbsent(key, k -> new ArrayList<>()).add(millis);
+                }
+            }
+            for (Map.Entry<String, List<Boolean>> scenario : outcomes.entrySet()) {
+                String key = scenario.getKey();
+                List<Boolean> attempts = scenario.getValue();
+                boolean finalOutcome = attempts.get(attempts.size() - 1);
+
+                Stats s = stats.computeIfAbsent(key, k -> new Stats(k, k.substring(k.indexOf(" :: ") + 4)));
+                s.runs++;
+                if (!finalOutcome) {
+                    s.failedRuns++;
+                }
+                // Passed on a retry after an earlier attempt of the same run failed
+                if (finalOutcome && attempts.contains(Boolean.FALSE)) {
+                    s.flakyRuns++;
+                }
+            }
+        }
+        for (Stats s : stats.values()) {
+            List<Long> millis = passedMillis.getOrDefault(s.key, allMillis.get(s.key));
+            s.medianMillis = median(millis);
+        }
+        return stats;
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    // Rewrites the store with the given runs only, through a temp file so a crash never truncates it
+    private static void compact(Path store, List<List<JsonObject>> keep) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (List<JsonObject> run : keep) {
+            for (JsonObject entry : run) {
+                lines.add(entry.toString());
+            }
+        }
+        Path temp = store.resolveSibling(store.getFileName() + ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        Files.move(temp, store, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("🗜️ Compacted scenario history to the last {} run(s)", keep.size());
+    }
+}
@@ -0,0 +1,162 @@
+package utils;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * ScenarioLogAppender keeps the detailed log of every running scenario in memory,
+ * one bounded ring buffer per scenario attempt, keyed on the scenarioId and attempt
+ * in the MDC (see {@link ScenarioContext}).
+ *
+ * When a scenario passes its buffer is dropped without touching the disk. When it
+ * fails, Hooks calls {@link #collect()} and attaches the text to the Cucumber and
+ * Extent reports. Each buffer holds at most maxKb of text; the oldest lines go first.
+ *
+ * Log events are written by the async logging thread, so the end of a scenario is
+ * itself a log event: it is queued behind everything the scenario logged and
+ * {@link #collect()} waits for it before reading the buffer.
+ *
+ * Configured in log4j2.xml:
+ * <pre>
+ * &lt;ScenarioLog name="ScenarioLog" maxKb="64"&gt;&lt;PatternLayout .../&gt;&lt;/ScenarioLog&gt;
+ * </pre>
+ */
+@Plugin(name = "ScenarioLog", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public final class ScenarioLogAppender extends AbstractAppender {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioLogAppender.class);
+    // Carries the end-of-scenario events; log4j2.xml routes it to this appender only
+    private static final Logger control = LoggerFactory.getLogger(ScenarioLogAppender.class.getName() + ".control");
+
+    private static final Marker KEEP = MarkerFactory.getMarker("SCENARIO_LOG_KEEP");
+    private static final Marker DISCARD = MarkerFactory.getMarker("SCENARIO_LOG_DISCARD");
+
+    /** The log lines of one scenario attempt. */
+    private static final class Buffer {
+        final ArrayDeque<String> lines = new ArrayDeque<>();
+        final CountDownLatch ended = new CountDownLatch(1);
+        long chars;
+        long dropped;
+    }
+
+    private static final Map<String, Buffer> buffers = new ConcurrentHashMap<>();
+    // Scenario attempts whose buffer was handed out or dropped; later events are ignored
+    private static final Set<String> finished = ConcurrentHashMap.newKeySet();
+    private static volatile boolean active;
+
+    private final long maxChars;
+
+    private ScenarioLogAppender(String name, Layout<String> layout, long maxKb) {
+        super(name, null, layout, true, Property.EMPTY_ARRAY);
+        this.maxChars = maxKb * 1024;
+    }
+
+    @PluginFactory
+    public static ScenarioLogAppender createAppender(@PluginAttribute("name") String name,
+                                                     @PluginAttribute(value = "maxKb", defaultLong = 64) long maxKb,
+                                                     @PluginElement("Layout") Layout<String> layout) {
+        return new ScenarioLogAppender(name, layout != null ? layout : PatternLayout.createDefaultLayout(), maxKb);
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        active = true;
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        String key = keyOf(event);
+        if (key == null || finished.contains(key)) {
+            return;
+        }
+        if (event.getMarker() != null && DISCARD.getName().equals(event.getMarker().getName())) {
+            finished.add(key);
+            buffers.remove(key);
+            return;
+        }
+        Buffer buffer = buffers.computeIfAbsent(key, k -> new Buffer());
+        if (event.getMarker() != null && KEEP.getName().equals(event.getMarker().getName())) {
+            finished.add(key);
+            buffer.ended.countDown();
+            return;
+        }
+        String line = getLayout().toSerializable(event).toString();
+        synchronized (buffer) {
+            buffer.lines.addLast(line);
+            buffer.chars += line.length();
+            while (buffer.chars > maxChars && buffer.lines.size() > 1) {
+                buffer.chars -= buffer.lines.removeFirst().length();
+                buffer.dropped++;
+            }
+        }
+    }
+
+    /**
+     * Drops the current scenario's log, e.g. because it passed.
+     */
+    public static void discard() {
+        if (active && ScenarioContext.current() != null) {
+            control.info(DISCARD, "Scenario log discarded");
+        }
+    }
+
+    /**
+     * Ends the current scenario's log and returns it.
+     *
+     * @return The scenario's log lines, or null outside a scenario or without a ScenarioLog appender.
+     */
+    public static String collect() {
+        ScenarioContext context = ScenarioContext.current();
+        if (!active || context == null) {
+            return null;
+        }
+        control.info(KEEP, "Scenario log collected");
+        String key = context.getId() + "#" + context.getAttempt();
+        Buffer buffer = buffers.computeIfAbsent(key, k -> new Buffer());
+        try {
+            // The async logging thread gets there within milliseconds unless the ring buffer is backed up
+            if (!buffer.ended.await(5, TimeUnit.SECONDS)) {
+                logger.warn("Scenario log of {} may be incomplete", context.getName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finished.add(key);
+        buffers.remove(key);
+        synchronized (buffer) {
+            StringBuilder text = new StringBuilder((int) buffer.chars + 64);
+            if (buffer.dropped > 0) {
+                text.append("... ").append(buffer.dropped).append(" earlier line(s) dropped ...").append(System.lineSeparator());
+            }
+            buffer.lines.forEach(text::append);
+            return text.toString();
+        }
+    }
+
+    private static String keyOf(LogEvent event) {
+        String scenarioId = event.getContextData().getValue(ScenarioContext.MDC_SCENARIO_ID);
+        String attempt = event.getContextData().getValue(ScenarioContext.MDC_ATTEMPT);
+        return scenarioId == null ? null : scenarioId + "#" + attempt;
+    }
+}
@@ -0,0 +1,180 @@
+package utils;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+
+/**
+ * ScenarioScheduler orders the scenario rows of the TestNG data provider so that
+ * parallel workers finish at about the same time.
+ *
+ * Rows are handed to the worker threads in order, so the longest scenarios
+ * (by their median duration in {@link ScenarioHistory}) go first and the short ones
+ * fill the gaps at the end: longest processing time first. Scenarios without history
+ * are estimated at the median of the known ones. Ties keep the feature file order.
+ *
+ * In parallelMode=feature the scenarios of one feature run one after another (see
+ * {@link ParallelExecution#enterFeature(URI)}), and a worker that picks up a scenario of a
+ * busy feature blocks until the feature is free. Features are therefore ordered by their
+ * total duration, longest first, and their scenarios are interleaved: the first scenario
+ * of every feature, then the second of every feature, and so on, so consecutive rows
+ * belong to different features. Without history, with parallelMode=none, or with
+ * scheduleLongestFirst=false the file order is kept.
+ */
+public final class ScenarioScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioScheduler.class);
+
+    private ScenarioScheduler() {
+    }
+
+    /**
+     * @param scenarios The data provider rows, each starting with a PickleWrapper.
+     * @return The same rows, longest first when there is history to go by.
+     */
+    public static Object[][] order(Object[][] scenarios) {
+        FrameworkConfig config = FrameworkConfig.current();
+        if (!config.scheduleLongestFirst() || config.parallelMode() == ParallelExecution.Mode.NONE
+                || scenarios.length < 2) {
+            return scenarios;
+        }
+        ScenarioHistory history = ScenarioHistory.load();
+        if (history.isEmpty()) {
+            logger.info("📅 No scenario history yet, running {} scenario(s) in file order", scenarios.length);
+            return scenarios;
+        }
+
+        long[] estimates = new long[scenarios.length];
+        List<Long> known = new ArrayList<>();
+        int unknown = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            ScenarioHistory.Stats stats = history.get(keyOf(scenarios[i]));
+            estimates[i] = stats == null ? -1 : stats.getMedianMillis();
+            if (stats == null) {
+                unknown++;
+            } else {
+                known.add(stats.getMedianMillis());
+            }
+        }
+        if (known.isEmpty()) {
+            logger.info("📅 None of the {} scenario(s) has history yet, running them in file order", scenarios.length);
+            return scenarios;
+        }
+        Collections.sort(known);
+        long typical = known.get(known.size() / 2);
+        for (int i = 0; i < estimates.length; i++) {
+            if (estimates[i] < 0) {
+                estimates[i] = typical;
+            }
+        }
+
+        boolean byFeature = config.parallelMode() == ParallelExecution.Mode.FEATURE;
+        // Rows of the same feature never overlap in feature mode; null means no such constraint
+        URI[] features = new URI[scenarios.length];
+        if (byFeature) {
+            for (int i = 0; i < scenarios.length; i++) {
+                features[i] = pickleOf(scenarios[i]).getUri();
+            }
+        }
+        Integer[] order = byFeature ? byFeature(features, estimates) : byScenario(estimates);
+        Object[][] ordered = new Object[scenarios.length][];
+        long[] orderedEstimates = new long[scenarios.length];
+        URI[] orderedFeatures = new URI[scenarios.length];
+        for (int i = 0; i < order.length; i++) {
+            ordered[i] = scenarios[order[i]];
+            orderedEstimates[i] = estimates[order[i]];
+            orderedFeatures[i] = features[order[i]];
+        }
+
+        int threads = config.threadCount();
+        logger.info("📅 Scheduled {} scenario(s) longest first ({} without history); estimated makespan on {} thread(s): "
+            + "{} ms, {} ms in file order", scenarios.length, unknown, threads,
+            makespan(orderedEstimates, orderedFeatures, threads), makespan(estimates, features, threads));
+        return ordered;
+    }
+
+    // Longest scenario first; the stable sort keeps file order between equal estimates
+    private static Integer[] byScenario(long[] estimates) {
+        Integer[] order = indexes(estimates.length);
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> estimates[i]).reversed());
+        return order;
+    }
+
+    // Longest feature first, its scenarios longest first, interleaved one row per feature at a time
+    private static Integer[] byFeature(URI[] features, long[] estimates) {
+        Map<URI, List<Integer>> byUri = new LinkedHashMap<>();
+        for (int i = 0; i < features.length; i++) {
+            byUri.computeIfAbsent(features[i], uri -> new ArrayList<>()).add(i);
+        }
+        List<List<Integer>> groups = new ArrayList<>(byUri.values());
+        groups.sort(Comparator.comparingLong((List<Integer> group) ->
+            group.stream().mapToLong(i -> estimates[i]).sum()).reversed());
+        for (List<Integer> group : groups) {
+            group.sort(Comparator.comparingLong((Integer i) -> estimates[i]).reversed());
+        }
+
+        List<Integer> order = new ArrayList<>();
+        for (int round = 0; order.size() < features.length; round++) {
+            for (List<Integer> group : groups) {
+                if (round < group.size()) {
+                    order.add(group.get(round));
+                }
+            }
+        }
+        return order.toArray(new Integer[0]);
+    }
+
+    // Time until the last worker is done when each row goes to the first free worker. A row
+    // whose feature is still running holds its worker until the feature is free.
+    private static long makespan(long[] estimates, URI[] features, int threads) {
+        PriorityQueue<Long> workers = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            workers.add(0L);
+        }
+        Map<URI, Long> featureFree = new HashMap<>();
+        long end = 0;
+        for (int i = 0; i < estimates.length; i++) {
+            long start = workers.poll();
+            if (features[i] != null) {
+                start = Math.max(start, featureFree.getOrDefault(features[i], 0L));
+            }
+            long finish = start + estimates[i];
+            if (features[i] != null) {
+                featureFree.put(features[i], finish);
+            }
+            end = Math.max(end, finish);
+            workers.add(finish);
+        }
+        return end;
+    }
+
+    private static Integer[] indexes(int length) {
+        Integer[] indexes = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            indexes[i] = i;
+        }
+        return indexes;
+    }
+
+    private static String keyOf(Object[] row) {
+        Pickle pickle = pickleOf(row);
+        return ScenarioHistory.keyOf(pickle.getUri(), pickle.getName());
+    }
+
+    private static Pickle pickleOf(Object[] row) {
+        return ((PickleWrapper) row[0]).getPickle();
+    }
+}
@@ -0,0 +1,199 @@
+package utils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ScreenshotPipeline writes failure screenshots off the test thread.
+ *
+ * The test thread only grabs the PNG bytes from the driver and queues them; a
+ * single background writer optionally downscales or re-encodes them and writes
+ * them to target/screenshots. File names carry the scenario and its attempt
+ * (see {@link ScenarioContext#getAttempt()}), e.g. "Login_with_Invalid_Password-a2-17.png".
+ *
+ * Configured in config.properties:
+ *  - screenshotFormat      : png | jpg (default png)
+ *  - screenshotScale       : 0.1 - 1.0, 1.0 keeps the original size
+ *  - screenshotJpegQuality : 0.0 - 1.0 for jpg (default 0.8)
+ *  - screenshotMaxDiskMb   : screenshots of this run stop being written beyond this (default 200)
+ *  - screenshotQueueSize   : pending screenshots; more are dropped (default 16)
+ */
+public class ScreenshotPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotPipeline.class);
+
+    private static final Path SCREENSHOT_DIR = Paths.get(System.getProperty("user.dir"), "target", "screenshots");
+
+    private static final ScreenshotPipeline instance = new ScreenshotPipeline(FrameworkConfig.current());
+
+    private final String format;
+    private final double scale;
+    private final float jpegQuality;
+    private final long maxDiskBytes;
+    private final ThreadPoolExecutor writer;
+
+    // Bytes written or reserved by this run; files of earlier runs are not counted
+    private final AtomicLong diskBytes = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ScreenshotPipeline(FrameworkConfig config) {
+        this.format = "jpeg".equals(config.screenshotFormat()) ? "jpg" : config.screenshotFormat();
+        this.scale = config.screenshotScale();
+        this.jpegQuality = config.screenshotJpegQuality();
+        this.maxDiskBytes = config.screenshotMaxDiskMb() * 1024 * 1024;
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(config.screenshotQueueSize()), runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    public static ScreenshotPipeline getInstance() {
+        return instance;
+    }
+
+    /**
+     * Takes a screenshot of the driver and queues it for writing.
+     *
+     * @return The path the file will be written to, or null if nothing was queued.
+     */
+    public Path capture(WebDriver driver, String scenarioName, int attempt) {
+        byte[] png = grab(driver);
+        return png == null ? null : submit(png, scenarioName, attempt);
+    }
+
+    /**
+     * @return The PNG bytes of the driver's current screen, or null if none could be taken.
+     */
+    public static byte[] grab(WebDriver driver) {
+        if (!(driver instanceof TakesScreenshot)) {
+            return null;
+        }
+        try {
+            return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (RuntimeException e) {
+            logger.warn("📸 Could not take screenshot: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Queues PNG bytes for writing. Returns immediately; the file appears once the writer gets to it.
+     *
+     * The size of the PNG is reserved against the disk cap here, so a returned path is always
+     * written (barring an I/O error). The writer corrects the reservation to the encoded size.
+     *
+     * @return The path the file will be written to, or null if the queue is full or the disk cap is reached.
+     */
+    public Path submit(byte[] png, String scenarioName, int attempt) {
+        long reserved = png.length;
+        if (diskBytes.addAndGet(reserved) > maxDiskBytes) {
+            diskBytes.addAndGet(-reserved);
+            logger.warn("📸 Screenshot disk cap of {} MB reached, skipping screenshot for {}",
+                maxDiskBytes / (1024 * 1024), scenarioName);
+            return null;
+        }
+        String safeName = scenarioName.replaceAll("[^A-Za-z0-9._-]+", "_");
+        Path target = SCREENSHOT_DIR.resolve(safeName + "-a" + attempt + "-" + sequence.incrementAndGet() + "." + format);
+        try {
+            writer.execute(() -> write(png, reserved, target));
+            return target;
+        } catch (RejectedExecutionException e) {
+            diskBytes.addAndGet(-reserved);
+            logger.warn("📸 Screenshot queue full, dropping screenshot for {}", scenarioName);
+            return null;
+        }
+    }
+
+    /**
+     * Waits for queued screenshots to be written, e.g. before the report is flushed.
+     */
+    public void drain(long timeoutSeconds) {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                logger.warn("📸 {} screenshot(s) still pending after {}s", writer.getQueue().size(), timeoutSeconds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(byte[] png, long reserved, Path target) {
+        long written = 0;
+        try {
+            byte[] bytes = encode(png);
+            Files.createDirectories(target.getParent());
+            Files.write(target, bytes);
+            written = bytes.length;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("📸 Could not write screenshot {}: {}", target, e.getMessage());
+        } finally {
+            // Give back what submit() reserved beyond the actual file size
+            diskBytes.addAndGet(written - reserved);
+        }
+    }
+
+    // Original PNG bytes unless a smaller size or JPEG output is configured
+    private byte[] encode(byte[] png) throws IOException {
+        if (scale >= 1.0 && "png".equals(format)) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            return png;
+        }
+        int width = Math.max(1, (int) (image.getWidth() * scale));
+        int height = Math.max(1, (int) (image.getHeight() * scale));
+        // JPEG has no alpha channel
+        BufferedImage output = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = output.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if ("jpg".equals(format)) {
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpg");
+            ImageWriter jpegWriter = writers.next();
+            ImageWriteParam param = jpegWriter.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            try (ImageOutputStream stream = ImageIO.createImageOutputStream(bytes)) {
+                jpegWriter.setOutput(stream);
+                jpegWriter.write(null, new IIOImage(output, null, null), param);
+            } finally {
+                jpegWriter.dispose();
+            }
+        } else {
+            ImageIO.write(output, "png", bytes);
+        }
+        return bytes.toByteArray();
+    }
+}
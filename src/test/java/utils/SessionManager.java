@@ -0,0 +1,176 @@
+package utils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SessionManager keeps track of what each pooled browser is showing so that
+ * scenarios can skip work the browser has already done.
+ *
+ * With warmSession=true in config.properties:
+ *  - launching a URL the browser is already on (with an up-to-date page) is skipped
+ *  - "logged out" is restored from a cookie snapshot instead of clicking Logout
+ *
+ * Named snapshots can be saved and restored to jump straight into a known
+ * logged-in or logged-out state.
+ */
+public class SessionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionManager.class);
+
+    // Per-browser state survives across leases because drivers move between threads
+    private static final Map<WebDriver, SessionState> states = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, SessionSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private SessionManager() {
+    }
+
+    private static final class SessionState {
+        // Cookies say "logged in" for the current session
+        volatile boolean loggedIn;
+        // The rendered page no longer matches the cookie jar and needs a reload
+        volatile boolean stale;
+    }
+
+    public static boolean isWarm() {
+        return FrameworkConfig.current().warmSession();
+    }
+
+    /**
+     * Opens the given URL, skipping the page load in warm mode when the browser
+     * is already showing an up-to-date copy of it.
+     */
+    public static void launch(String url) {
+        WebDriver driver = DriverManager.getDriver();
+        SessionState state = stateOf(driver);
+        if (isWarm() && !state.stale && sameUrl(driver.getCurrentUrl(), url)) {
+            logger.info("♨️ Warm session already on {}, skipping navigation", url);
+            return;
+        }
+        driver.get(url);
+        NavigationTracker.navigated(driver);
+        state.stale = false;
+    }
+
+    /**
+     * Clears cookies and web storage. The current page is marked for reload
+     * if it was rendered for a logged-in user.
+     */
+    public static void reset(WebDriver driver) {
+        SessionState state = stateOf(driver);
+        try {
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        } catch (Exception e) {
+            logger.debug("Could not fully reset browser state: {}", e.getMessage());
+        }
+        if (state.loggedIn) {
+            state.stale = true;
+        }
+        state.loggedIn = false;
+        // A new lease starts with no trusted element references
+        NavigationTracker.navigated(driver);
+    }
+
+    /**
+     * Makes sure the current browser is logged out. Does nothing when it already is,
+     * otherwise restores the logged-out snapshot and reloads the page.
+     */
+    public static void ensureLoggedOut() {
+        WebDriver driver = DriverManager.getDriver();
+        if (!stateOf(driver).loggedIn) {
+            logger.info("♨️ Session is already logged out");
+            return;
+        }
+        restore(SessionSnapshot.LOGGED_OUT);
+        reloadIfStale();
+    }
+
+    /**
+     * Saves the current browser cookies under the given name.
+     */
+    public static SessionSnapshot save(String name) {
+        WebDriver driver = DriverManager.getDriver();
+        SessionSnapshot snapshot = SessionSnapshot.capture(driver, stateOf(driver).loggedIn);
+        snapshots.put(name, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Restores a snapshot previously stored with {@link #save(String)}.
+     *
+     * @return false if no snapshot with that name exists.
+     */
+    public static boolean restore(String name) {
+        SessionSnapshot snapshot = snapshots.get(name);
+        if (snapshot == null) {
+            return false;
+        }
+        restore(snapshot);
+        return true;
+    }
+
+    /**
+     * Replaces the browser's cookies with the snapshot. The current page becomes
+     * stale and is reloaded by the next {@link #launch(String)} or {@link #reloadIfStale()}.
+     */
+    public static void restore(SessionSnapshot snapshot) {
+        WebDriver driver = DriverManager.getDriver();
+        SessionState state = stateOf(driver);
+        snapshot.restoreInto(driver);
+        state.loggedIn = snapshot.isLoggedIn();
+        state.stale = true;
+    }
+
+    /**
+     * Reloads the current page if its content no longer matches the cookie jar.
+     */
+    public static void reloadIfStale() {
+        WebDriver driver = DriverManager.getDriver();
+        SessionState state = stateOf(driver);
+        if (state.stale) {
+            driver.navigate().refresh();
+            NavigationTracker.navigated(driver);
+            state.stale = false;
+        }
+    }
+
+    public static void markLoggedIn() {
+        stateOf(DriverManager.getDriver()).loggedIn = true;
+    }
+
+    public static void markLoggedOut() {
+        stateOf(DriverManager.getDriver()).loggedIn = false;
+    }
+
+    public static boolean isLoggedIn() {
+        return stateOf(DriverManager.getDriver()).loggedIn;
+    }
+
+    private static SessionState stateOf(WebDriver driver) {
+        synchronized (states) {
+            return states.computeIfAbsent(driver, d -> new SessionState());
+        }
+    }
+
+    private static boolean sameUrl(String current, String target) {
+        return current != null && normalize(current).equals(normalize(target));
+    }
+
+    private static String normalize(String url) {
+        int fragment = url.indexOf('#');
+        String normalized = fragment >= 0 ? url.substring(0, fragment) : url;
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,83 @@
+package utils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Immutable copy of a browser's cookie jar at a point in time.
+ *
+ * Restoring a snapshot replaces the browser's cookies, which is far cheaper
+ * than driving the login or logout flow through the UI. Cookies can only be
+ * written for the domain the browser is currently on, so restore after the
+ * site has been opened at least once.
+ */
+public final class SessionSnapshot {
+
+    /** An empty cookie jar, i.e. an anonymous visitor. */
+    public static final SessionSnapshot LOGGED_OUT = new SessionSnapshot(Collections.emptySet(), false, Instant.EPOCH);
+
+    private final Set<Cookie> cookies;
+    private final boolean loggedIn;
+    private final Instant capturedAt;
+
+    private SessionSnapshot(Set<Cookie> cookies, boolean loggedIn, Instant capturedAt) {
+        this.cookies = Collections.unmodifiableSet(new LinkedHashSet<>(cookies));
+        this.loggedIn = loggedIn;
+        this.capturedAt = capturedAt;
+    }
+
+    /**
+     * Captures the current cookies of the given driver.
+     *
+     * @param driver   The browser to read cookies from.
+     * @param loggedIn Whether the captured session belongs to an authenticated user.
+     */
+    public static SessionSnapshot capture(WebDriver driver, boolean loggedIn) {
+        return new SessionSnapshot(driver.manage().getCookies(), loggedIn, Instant.now());
+    }
+
+    /**
+     * Replaces the browser's cookies with the ones in this snapshot.
+     */
+    public void restoreInto(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+    }
+
+    /**
+     * A snapshot is expired when it is older than the given time-to-live or
+     * when any of its cookies has passed its own expiry date.
+     */
+    public boolean isExpired(Duration timeToLive) {
+        Instant now = Instant.now();
+        if (capturedAt.plus(timeToLive).isBefore(now)) {
+            return true;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().toInstant().isBefore(now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isLoggedIn() {
+        return loggedIn;
+    }
+
+    public Set<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+}
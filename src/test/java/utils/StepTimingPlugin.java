@@ -0,0 +1,150 @@
+package utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Cucumber plugin that measures where the time of a run goes.
+ *
+ * It records the wall time and WebDriver command count of every step and hook.
+ * TestBase actions and WaitEngine waits record themselves into the same
+ * {@link TimingRegistry}. At the end of the run it writes
+ * target/timings/step-timings.json and .csv and logs a summary table with
+ * count, p50, p95 and max per entry.
+ *
+ * Register it in @CucumberOptions(plugin = "utils.StepTimingPlugin").
+ */
+public class StepTimingPlugin implements ConcurrentEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(StepTimingPlugin.class);
+
+    private static final Path OUTPUT_DIR = Paths.get(System.getProperty("user.dir"), "target", "timings");
+    private static final int SUMMARY_ROWS = 15;
+
+    // Events of a step are published on the thread that runs it
+    private final ThreadLocal<long[]> stepStart = ThreadLocal.withInitial(() -> new long[2]);
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> export());
+    }
+
+    private void onStepStarted(TestStepStarted event) {
+        long[] start = stepStart.get();
+        start[0] = System.nanoTime();
+        start[1] = CommandTracer.commandsOnThread();
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        long[] start = stepStart.get();
+        long nanos = System.nanoTime() - start[0];
+        long commands = CommandTracer.commandsOnThread() - start[1];
+
+        TestStep step = event.getTestStep();
+        String category;
+        String name;
+        if (step instanceof PickleStepTestStep) {
+            PickleStepTestStep pickleStep = (PickleStepTestStep) step;
+            category = TimingRegistry.STEP;
+            name = pickleStep.getStep().getKeyword().trim() + " " + pickleStep.getStep().getText();
+        } else if (step instanceof HookTestStep) {
+            category = TimingRegistry.HOOK;
+            name = step.getCodeLocation();
+        } else {
+            return;
+        }
+        TimingRegistry.record(category, name, nanos, commands);
+
+        ScenarioContext context = ScenarioContext.current();
+        if (context != null && TimingRegistry.STEP.equals(category)) {
+            context.recordTiming(name, nanos / 1_000_000L);
+        }
+    }
+
+    private void export() {
+        List<TimingRegistry.Entry> entries = TimingRegistry.snapshot();
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(OUTPUT_DIR);
+            writeJson(entries, OUTPUT_DIR.resolve("step-timings.json"));
+            writeCsv(entries, OUTPUT_DIR.resolve("step-timings.csv"));
+        } catch (IOException e) {
+            logger.warn("Could not export step timings: {}", e.getMessage());
+        }
+        logger.info(LogMarkers.SUMMARY, "⏱️ Timing summary (slowest total first, ms):\n{}", summaryTable(entries));
+    }
+
+    private static void writeJson(List<TimingRegistry.Entry> entries, Path file) throws IOException {
+        JsonArray rows = new JsonArray();
+        for (TimingRegistry.Entry entry : entries) {
+            LatencyHistogram micros = entry.getMicros();
+            JsonObject row = new JsonObject();
+            row.addProperty("category", entry.getCategory());
+            row.addProperty("name", entry.getName());
+            row.addProperty("count", micros.count());
+            row.addProperty("totalMs", micros.total() / 1000.0);
+            row.addProperty("meanMs", micros.mean() / 1000.0);
+            row.addProperty("p50Ms", micros.percentile(50) / 1000.0);
+            row.addProperty("p95Ms", micros.percentile(95) / 1000.0);
+            row.addProperty("maxMs", micros.max() / 1000.0);
+            row.addProperty("commands", entry.getCommands());
+            rows.add(row);
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(rows, writer);
+        }
+    }
+
+    private static void writeCsv(List<TimingRegistry.Entry> entries, Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("category,name,count,total_ms,mean_ms,p50_ms,p95_ms,max_ms,commands\n");
+            for (TimingRegistry.Entry entry : entries) {
+                LatencyHistogram micros = entry.getMicros();
+                writer.write(String.format(Locale.ROOT, "%s,\"%s\",%d,%.1f,%.1f,%.1f,%.1f,%.1f,%d%n",
+                    entry.getCategory(), entry.getName().replace("\"", "\"\""), micros.count(),
+                    micros.total() / 1000.0, micros.mean() / 1000.0, micros.percentile(50) / 1000.0,
+                    micros.percentile(95) / 1000.0, micros.max() / 1000.0, entry.getCommands()));
+            }
+        }
+    }
+
+    private static String summaryTable(List<TimingRegistry.Entry> entries) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-7s %-60s %6s %10s %9s %9s %9s %8s%n",
+            "type", "name", "count", "total", "p50", "p95", "max", "cmds"));
+        for (TimingRegistry.Entry entry : entries.subList(0, Math.min(SUMMARY_ROWS, entries.size()))) {
+            LatencyHistogram micros = entry.getMicros();
+            String name = entry.getName().length() > 60 ? entry.getName().substring(0, 57) + "..." : entry.getName();
+            table.append(String.format(Locale.ROOT, "%-7s %-60s %6d %10.0f %9.0f %9.0f %9.0f %8d%n",
+                entry.getCategory(), name, micros.count(), micros.total() / 1000.0,
+                micros.percentile(50) / 1000.0, micros.percentile(95) / 1000.0, micros.max() / 1000.0,
+                entry.getCommands()));
+        }
+        return table.toString();
+    }
+}
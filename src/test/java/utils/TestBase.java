@@ -1,20 +1,26 @@
 package utils;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class TestBase {
 
+    private static final Logger logger = LoggerFactory.getLogger(TestBase.class);
+
     protected WebDriver driver;
-    private WebDriverWait wait;
+    private final WaitEngine waits = WaitEngine.getInstance();
     private Actions actions;
 
     public TestBase() {
         this.driver = DriverManager.getDriver();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         this.actions = new Actions(driver);
     }
 
@@ -27,33 +33,35 @@ public class TestBase {
      * @param timeoutInSec Timeout in seconds for waits.
      */
     public void clickElement(WebElement element, String description, boolean hoverFirst, int timeoutInSec) {
+        long startNanos = System.nanoTime();
+        long startCommands = CommandTracer.commandsOnThread();
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSec));
-
-            // Wait for the element to be present in the DOM
-            customWait.until(ExpectedConditions.presenceOfElementLocated(getByFromElement(element)));
-
-            // Hover if requested or element not visible
-            if (hoverFirst || !element.isDisplayed()) {
-                actions.moveToElement(element).pause(Duration.ofMillis(300)).perform();
-            }
-
-            // Wait until element is visible and clickable
-            customWait.until(ExpectedConditions.visibilityOf(element));
-            customWait.until(ExpectedConditions.elementToBeClickable(element));
+            // Present, visible and enabled in one poll loop; hovers inside it if requested or hidden
+            waits.until(driver, WaitEngine.clickable(element, hoverFirst,
+                    target -> actions.moveToElement(target).pause(Duration.ofMillis(300)).perform()),
+                timeoutInSec, description);
 
             element.click();
-            System.out.println("✅ Clicked: " + description);
+            logger.info("✅ Clicked: {}", description);
 
         } catch (TimeoutException e) {
-            System.err.println("⏳ Timeout: Failed to click " + description + " within " + timeoutInSec + " seconds.");
+            logger.error("⏳ Timeout: Failed to click {} within {} seconds.", description, timeoutInSec);
             throw e;
         } catch (ElementClickInterceptedException e) {
-            System.err.println("⚠️ Element intercepted while clicking: " + description + ". Retrying with JS click...");
+            logger.warn("⚠️ Element intercepted while clicking: {}. Retrying with JS click...", description);
             jsClick(element);
+        } catch (StaleElementReferenceException e) {
+            By locator = LocatorRegistry.locatorOf(element);
+            if (locator == null) {
+                throw e;
+            }
+            logger.warn("⚠️ Stale element while clicking: {}. Retrying with a fresh lookup...", description);
+            waits.until(driver, WaitEngine.present(locator), timeoutInSec, "fresh " + description).click();
         } catch (Exception e) {
-            System.err.println("❌ Failed to click element: " + description + " → " + e.getMessage());
+            logger.error("❌ Failed to click element: {} → {}", description, e.getMessage());
             throw e;
+        } finally {
+            recordAction("click " + description, startNanos, startCommands);
         }
     }
 
@@ -62,43 +70,9 @@ public class TestBase {
      */
     private void jsClick(WebElement element) {
         ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+        NavigationTracker.navigated(driver);
     }
 
-    /**
-     * Extracts the By locator from a WebElement for better wait handling.
-     */
-    private By getByFromElement(WebElement element) {
-        String elementDesc = element.toString();
-        try {
-            String locator = elementDesc.substring(elementDesc.indexOf("->") + 3, elementDesc.length() - 1);
-            String[] parts = locator.split(": ");
-            String locatorType = parts[0];
-            String locatorValue = parts[1];
-
-            switch (locatorType) {
-                case "xpath":
-                    return By.xpath(locatorValue);
-                case "css selector":
-                    return By.cssSelector(locatorValue);
-                case "id":
-                    return By.id(locatorValue);
-                case "link text":
-                    return By.linkText(locatorValue);
-                case "partial link text":
-                    return By.partialLinkText(locatorValue);
-                case "tag name":
-                    return By.tagName(locatorValue);
-                case "name":
-                    return By.name(locatorValue);
-                default:
-                    return By.xpath(locatorValue);
-            }
-        } catch (Exception e) {
-            // fallback if parsing fails
-            return By.xpath("//*");
-        }
-    }
-    
     /**
      * Safely sends text input to an element with waits and logging.
      *
@@ -108,28 +82,29 @@ public class TestBase {
      * @param timeoutInSec Timeout in seconds for waits.
      */
     public void sendKeys(WebElement element, String value, String description, int timeoutInSec) {
+        long startNanos = System.nanoTime();
+        long startCommands = CommandTracer.commandsOnThread();
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSec));
-
             // Wait until element is visible and enabled
-            customWait.until(ExpectedConditions.visibilityOf(element));
-            customWait.until(ExpectedConditions.elementToBeClickable(element));
+            waits.until(driver, WaitEngine.clickable(element), timeoutInSec, description);
 
             // Clear any existing text before entering new value
             element.clear();
             element.sendKeys(value);
 
-            System.out.println("✅ Typed into: " + description + " → " + value);
+            logger.info("✅ Typed into: {} → {}", description, value);
 
         } catch (TimeoutException e) {
-            System.err.println("⏳ Timeout: Failed to send keys to " + description + " within " + timeoutInSec + " seconds.");
+            logger.error("⏳ Timeout: Failed to send keys to {} within {} seconds.", description, timeoutInSec);
             throw e;
         } catch (ElementNotInteractableException e) {
-            System.err.println("⚠️ Element not interactable: " + description + ". Retrying with JS...");
+            logger.warn("⚠️ Element not interactable: {}. Retrying with JS...", description);
             jsSendKeys(element, value);
         } catch (Exception e) {
-            System.err.println("❌ Failed to send keys to: " + description + " → " + e.getMessage());
+            logger.error("❌ Failed to send keys to: {} → {}", description, e.getMessage());
             throw e;
+        } finally {
+            recordAction("type " + description, startNanos, startCommands);
         }
     }
 
@@ -140,16 +115,90 @@ public class TestBase {
         ((JavascriptExecutor) driver).executeScript("arguments[0].value = arguments[1];", element, value);
     }
 
+    // Sets every field through the native value setter and fires the events a user would
+    private static final String FILL_FIELDS_SCRIPT =
+            "var values = arguments[0], missing = [];"
+          + "for (var selector in values) {"
+          + "  var el = document.querySelector(selector);"
+          + "  if (!el) { missing.push(selector); continue; }"
+          + "  var proto = el.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;"
+          + "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, values[selector]);"
+          + "  el.dispatchEvent(new Event('input', { bubbles: true }));"
+          + "  el.dispatchEvent(new Event('change', { bubbles: true }));"
+          + "}"
+          + "return missing;";
+
+    // Reads back the current value of every field in one call
+    private static final String READ_FIELDS_SCRIPT =
+            "var selectors = arguments[0], values = {};"
+          + "for (var i = 0; i < selectors.length; i++) {"
+          + "  var el = document.querySelector(selectors[i]);"
+          + "  values[selectors[i]] = el ? el.value : null;"
+          + "}"
+          + "return values;";
+
+    /**
+     * Fills several form fields in a single executeScript round trip.
+     * Each field gets its value plus bubbling input and change events.
+     *
+     * @param valuesBySelector CSS selector of each field mapped to the value to set (in fill order).
+     * @param verify           Whether to read all values back in one extra call and compare them.
+     * @param description      A readable description for logging.
+     * @param timeoutInSec     Timeout in seconds to wait for the form to be present.
+     * @return The selectors whose value did not stick (always empty when verify is false).
+     */
+    public List<String> fillFieldsWithScript(Map<String, String> valuesBySelector, boolean verify,
+                                             String description, int timeoutInSec) {
+        if (valuesBySelector.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long startNanos = System.nanoTime();
+        long startCommands = CommandTracer.commandsOnThread();
+        try {
+            return fillFields(valuesBySelector, verify, description, timeoutInSec);
+        } finally {
+            recordAction("fill " + description, startNanos, startCommands);
+        }
+    }
+
+    private List<String> fillFields(Map<String, String> valuesBySelector, boolean verify,
+                                    String description, int timeoutInSec) {
+        String firstSelector = valuesBySelector.keySet().iterator().next();
+        waits.until(driver, WaitEngine.present(By.cssSelector(firstSelector)), timeoutInSec, description);
+
+        Object missing = ((JavascriptExecutor) driver).executeScript(FILL_FIELDS_SCRIPT, valuesBySelector);
+        if (missing instanceof List && !((List<?>) missing).isEmpty()) {
+            throw new NoSuchElementException("Fields not found while filling " + description + ": " + missing);
+        }
+        logger.info("✅ Filled {} fields in one call: {}", valuesBySelector.size(), description);
+
+        if (!verify) {
+            return Collections.emptyList();
+        }
+        Map<?, ?> actual = (Map<?, ?>) ((JavascriptExecutor) driver)
+                .executeScript(READ_FIELDS_SCRIPT, new ArrayList<>(valuesBySelector.keySet()));
+        List<String> mismatched = new ArrayList<>();
+        for (Map.Entry<String, String> field : valuesBySelector.entrySet()) {
+            if (!field.getValue().equals(actual.get(field.getKey()))) {
+                mismatched.add(field.getKey());
+            }
+        }
+        if (!mismatched.isEmpty()) {
+            logger.warn("⚠️ Values did not stick for {}: {}", description, mismatched);
+        }
+        return mismatched;
+    }
+
     /**
      * Clears a textbox using keyboard shortcuts (Ctrl + A + Delete).
      *
      * @param element The WebElement input field to clear.
      */
     public void clearTextBoxUsingKeys(WebElement element) {
+        long startNanos = System.nanoTime();
+        long startCommands = CommandTracer.commandsOnThread();
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            wait.until(ExpectedConditions.visibilityOf(element));
-            wait.until(ExpectedConditions.elementToBeClickable(element));
+            waits.until(driver, WaitEngine.clickable(element), 10, "textbox to clear");
 
             // Focus on the element first
             element.click();
@@ -157,15 +206,17 @@ public class TestBase {
             element.sendKeys(Keys.chord(Keys.CONTROL, "a"));
             element.sendKeys(Keys.DELETE);
 
-            System.out.println("🧹 Cleared textbox using keyboard for element: " + element.toString());
+            logger.info("🧹 Cleared textbox using keyboard for element: {}", element);
         } catch (Exception e) {
-            System.err.println("⚠️ Failed to clear textbox using keyboard: " + e.getMessage());
+            logger.warn("⚠️ Failed to clear textbox using keyboard: {}", e.getMessage());
             // Fallback to normal clear
             try {
                 element.clear();
             } catch (Exception inner) {
-                System.err.println("❌ Fallback clear() also failed: " + inner.getMessage());
+                logger.error("❌ Fallback clear() also failed: {}", inner.getMessage());
             }
+        } finally {
+            recordAction("clear textbox", startNanos, startCommands);
         }
     }
     
@@ -179,32 +230,41 @@ public class TestBase {
      * @return true if text matches, false otherwise.
      */
     public boolean validateText(WebElement element, String expectedText, String description, int timeoutInSec) {
+        long startNanos = System.nanoTime();
+        long startCommands = CommandTracer.commandsOnThread();
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSec));
-            customWait.until(ExpectedConditions.visibilityOf(element));
+            waits.until(driver, WaitEngine.visible(element), timeoutInSec, description);
 
             String actualText = element.getText().trim();
             
-            System.out.println(actualText.trim() + " = " + expectedText.trim());
+            logger.debug("{} = {}", actualText, expectedText.trim());
 
             if (actualText.equals(expectedText.trim())) {
-                System.out.println("✅ Text validation passed for " + description + ": " + actualText);
+                logger.info("✅ Text validation passed for {}: {}", description, actualText);
                 return true;
             } else {
-                System.err.println("❌ Text validation failed for " + description + 
-                                   ". Expected: '" + expectedText + "', but found: '" + actualText + "'");
+                logger.error("❌ Text validation failed for {}. Expected: '{}', but found: '{}'",
+                        description, expectedText, actualText);
                 return false;
             }
 
         } catch (TimeoutException e) {
-            System.err.println("⏳ Timeout waiting for element to be visible: " + description);
+            logger.error("⏳ Timeout waiting for element to be visible: {}", description);
             return false;
         } catch (Exception e) {
-            System.err.println("❌ Error validating text for " + description + ": " + e.getMessage());
+            logger.error("❌ Error validating text for {}: {}", description, e.getMessage());
             return false;
+        } finally {
+            recordAction("validate " + description, startNanos, startCommands);
         }
     }
 
+    // Duration and WebDriver command count of one action, aggregated by StepTimingPlugin
+    private static void recordAction(String name, long startNanos, long startCommands) {
+        TimingRegistry.record(TimingRegistry.ACTION, name, System.nanoTime() - startNanos,
+                CommandTracer.commandsOnThread() - startCommands);
+    }
+
     
 
 }
@@ -1,123 +1,103 @@
 package utils;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-
-import com.github.javafaker.Faker;
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * TestDataManager handles generating, saving, and loading user data.
- * Saves JSON only after successful registration.
+ * Registered users come from the shared {@link UserPool}; a user is leased on first
+ * use in a scenario and returned by {@link #releaseUserData()}.
+ * Saves a user only after successful registration.
+ * Each worker thread gets its own instance so parallel scenarios never share user data.
  */
 public class TestDataManager {
 
-    private static final String USER_DATA_FILE = "src/test/resources/testdata/userdata.json";
-    private static TestDataManager instance;
-    private final Faker faker;
+    private static final Logger logger = LoggerFactory.getLogger(TestDataManager.class);
+
+    private static final ThreadLocal<TestDataManager> instance = ThreadLocal.withInitial(TestDataManager::new);
 
-    private String firstName;
-    private String lastName;
-    private String email;
-    private String password;
-    private String phone;
+    // Details of the current scenario's user: leased from the pool or freshly generated
+    private UserRecord user;
+    // True while user is leased from the pool and has to be returned
+    private boolean leased;
 
     private TestDataManager() {
-        faker = new Faker();
     }
 
     public static TestDataManager getInstance() {
-        if (instance == null) {
-            instance = new TestDataManager();
-        }
-        return instance;
+        return instance.get();
     }
 
-    /** Generate new user data in memory (for registration) */
+    /** Generate new user data in memory (for registration), pre-built by UserDataBuffer */
     public void generateNewUserData() {
-        firstName = faker.name().firstName();
-        lastName = faker.name().lastName();
-        email = firstName.toLowerCase() + System.currentTimeMillis() + "@mail.com";
-        password = "Password123";
-        phone = faker.phoneNumber().cellPhone();
-        System.out.println("Generated user data: " + email);
+        releaseUserData();
+        user = UserDataBuffer.getInstance().take();
+        logger.info("Generated user data: {}", user.getEmail());
     }
 
-    /** Save the current user data to JSON (only after successful registration) */
+    /** Save the current user data to the user pool (only after successful registration) */
     public void saveUserData() {
-        try {
-            File file = new File(USER_DATA_FILE);
-            file.getParentFile().mkdirs(); // create folder if it doesn't exist
-
-            try (FileWriter writer = new FileWriter(file)) {
-                new Gson().toJson(toJsonObject(), writer);
-            }
+        if (user != null && !leased) {
+            UserPool.getInstance().add(user);
+            // Returned to the pool with the scenario, so later scenarios can log in with it
+            leased = true;
+        }
+    }
 
-            System.out.println("✅ User data saved successfully: " + email);
-        } catch (IOException e) {
-            e.printStackTrace();
+    /** Return the leased user to the pool, called after every scenario */
+    public void releaseUserData() {
+        if (leased) {
+            UserPool.getInstance().release(user);
         }
+        user = null;
+        leased = false;
     }
 
-    /** Load last successfully registered user data from JSON */
-    public void loadUserData() {
-        try {
-            File file = new File(USER_DATA_FILE);
-            if (!file.exists()) {
-                System.out.println("❌ userdata.json does not exist yet!");
-                return;
+    /**
+     * The scenario's user, leasing a registered one from the pool on first access,
+     * so scenarios that never read it cost nothing.
+     *
+     * @throws IllegalStateException if the pool is empty and no account could be provisioned.
+     */
+    private UserRecord current() {
+        if (user == null) {
+            user = UserPool.getInstance().lease();
+            if (user == null && !UserProvisioner.provision(1).isEmpty()) {
+                // Empty pool: register one account over HTTP instead of failing the scenario
+                user = UserPool.getInstance().lease();
             }
-
-            try (FileReader reader = new FileReader(file)) {
-                JsonObject json = new Gson().fromJson(reader, JsonObject.class);
-                firstName = json.get("firstName").getAsString();
-                lastName = json.get("lastName").getAsString();
-                email = json.get("email").getAsString();
-                password = json.get("password").getAsString();
-                phone = json.get("phone").getAsString();
+            if (user == null) {
+                throw new IllegalStateException("❌ The user pool is empty and no account could be provisioned; "
+                    + "register a user first or check the site under test");
             }
-
-            System.out.println("✅ User data loaded: " + email);
-        } catch (IOException e) {
-            e.printStackTrace();
+            leased = true;
+            logger.info("✅ User data loaded: {}", user.getEmail());
         }
-    }
-
-    private JsonObject toJsonObject() {
-        JsonObject json = new JsonObject();
-        json.addProperty("firstName", firstName);
-        json.addProperty("lastName", lastName);
-        json.addProperty("email", email);
-        json.addProperty("password", password);
-        json.addProperty("phone", phone);
-        return json;
+        return user;
     }
 
     // -------------------- Getters --------------------
     public String getFirstName() { 
-    	return firstName; 
+    	return current().getFirstName(); 
     	
     }
     public String getLastName() { 
     	
-    	return lastName; 
+    	return current().getLastName(); 
     	
     }
     public String getEmail() { 
     	
-    	return email; 
+    	return current().getEmail(); 
     }
     public String getPassword() {
     	
-    	return password;
+    	return current().getPassword();
     	
     }
     public String getPhone() {
     	
-    	return phone; 
+    	return current().getPhone(); 
     	
     }
 }
@@ -0,0 +1,72 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TimingRegistry aggregates durations for the whole run, e.g. per step, per TestBase action and per wait.
+ *
+ * Entries are keyed by category and name and hold a {@link LatencyHistogram} of the
+ * durations in microseconds plus the number of WebDriver commands issued.
+ * Recording is lock-free, so parallel workers can record concurrently.
+ */
+public final class TimingRegistry {
+
+    public static final String STEP = "step";
+    public static final String HOOK = "hook";
+    public static final String ACTION = "action";
+    public static final String WAIT = "wait";
+
+    /** Aggregated timings of one category and name. */
+    public static final class Entry {
+        private final String category;
+        private final String name;
+        private final LatencyHistogram micros = new LatencyHistogram();
+        private final LongAdder commands = new LongAdder();
+
+        Entry(String category, String name) {
+            this.category = category;
+            this.name = name;
+        }
+
+        public String getCategory() { return category; }
+        public String getName() { return name; }
+        public LatencyHistogram getMicros() { return micros; }
+        public long getCommands() { return commands.sum(); }
+    }
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private TimingRegistry() {
+    }
+
+    /**
+     * Records a duration measured from startNanos until now.
+     */
+    public static void recordSince(String category, String name, long startNanos) {
+        record(category, name, System.nanoTime() - startNanos, 0);
+    }
+
+    public static void record(String category, String name, long nanos, long commands) {
+        Entry entry = entries.computeIfAbsent(category + "|" + name, key -> new Entry(category, name));
+        entry.micros.record(nanos / 1_000L);
+        entry.commands.add(commands);
+    }
+
+    /**
+     * @return All entries, slowest total time first.
+     */
+    public static List<Entry> snapshot() {
+        List<Entry> snapshot = new ArrayList<>(entries.values());
+        snapshot.sort(Comparator.comparingLong((Entry entry) -> entry.micros.total()).reversed());
+        return snapshot;
+    }
+
+    public static void reset() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,98 @@
+package utils;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UniqueIdGenerator creates identifiers that never repeat across threads, JVMs and CI shards.
+ *
+ * An id has three parts: runId-workerId-counter, e.g. "m2x9k1q7-0.4312-1f".
+ *  - runId    : runId from the config, or the JVM start time plus random characters
+ *  - workerId : shardId from the config (e.g. BDD_SHARD_ID=3 in CI), a dot and the process id
+ *  - counter  : an AtomicLong, so concurrent callers never take a lock
+ *
+ * The separators keep the parts apart, so two different (worker, counter) pairs can
+ * never produce the same string. That only holds if no part contains a separator, so a
+ * configured runId or shardId must be lower-case letters and digits; anything else is
+ * rejected rather than stripped, since stripping would turn "1-2" and "12" into one shard.
+ */
+public final class UniqueIdGenerator {
+
+    private static final String EMAIL_DOMAIN = "@mail.com";
+
+    // Created on first use, once per JVM
+    private static final class Holder {
+        static final UniqueIdGenerator INSTANCE = fromConfig(FrameworkConfig.current());
+    }
+
+    private final String runId;
+    private final String prefix;
+    private final AtomicLong counter = new AtomicLong();
+
+    public UniqueIdGenerator(String runId, String workerId) {
+        this.runId = runId;
+        this.prefix = runId + "-" + workerId + "-";
+    }
+
+    public static UniqueIdGenerator getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Builds the generator the config describes; {@link #getInstance()} holds the one of the global config.
+     *
+     * @throws IllegalArgumentException if runId or shardId is not made of lower-case letters and digits.
+     */
+    public static UniqueIdGenerator fromConfig(FrameworkConfig config) {
+        String runId = config.runId().isBlank() ? newRunId() : requireIdPart("runId", config.runId());
+        String workerId = requireIdPart("shardId", config.shardId()) + "." + ProcessHandle.current().pid();
+        return new UniqueIdGenerator(runId, workerId);
+    }
+
+    /**
+     * @return The id of this run, shared by every id the generator hands out.
+     */
+    public String runId() {
+        return runId;
+    }
+
+    /**
+     * @return The next id of this generator, unique within and across runs.
+     */
+    public String nextId() {
+        return prefix + Long.toString(counter.getAndIncrement(), Character.MAX_RADIX);
+    }
+
+    /**
+     * Builds a unique email address, e.g. "ressie.m2x9k1q7-0p4312-1f@mail.com".
+     *
+     * @param name Readable part of the address, usually the first name.
+     */
+    public String nextEmail(String name) {
+        String readable = sanitize(name);
+        return (readable.isEmpty() ? "user" : readable) + "." + nextId() + EMAIL_DOMAIN;
+    }
+
+    private static String newRunId() {
+        SecureRandom random = new SecureRandom();
+        StringBuilder runId = new StringBuilder(Long.toString(System.currentTimeMillis(), Character.MAX_RADIX));
+        for (int i = 0; i < 4; i++) {
+            runId.append(Character.forDigit(random.nextInt(Character.MAX_RADIX), Character.MAX_RADIX));
+        }
+        return runId.toString();
+    }
+
+    private static String requireIdPart(String key, String value) {
+        if (value == null || !value.matches("[a-z0-9]+")) {
+            throw new IllegalArgumentException("❌ " + key + " must be lower-case letters and digits only, but was '"
+                + value + "'");
+        }
+        return value;
+    }
+
+    // Keep only characters that are safe in the local part of an email address
+    private static String sanitize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+}
@@ -0,0 +1,115 @@
+package utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.javafaker.Faker;
+
+/**
+ * UserDataBuffer pre-generates new user details on a background thread.
+ *
+ * Faker loads its YAML locale data on first use and every call walks those
+ * structures, which is slow on the scenario thread. A daemon producer started
+ * in @BeforeAll keeps a bounded queue filled instead, so a step only takes a
+ * ready record.
+ *
+ * Configured in config.properties:
+ *  - userBufferDepth           : queue capacity (default 50)
+ *  - userBufferRefillThreshold : the producer wakes up and refills the queue
+ *                                once it drains to this size (default 10)
+ *
+ * If the queue is empty (producer not started or behind), the record is
+ * generated on the calling thread so a step never waits.
+ */
+public class UserDataBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDataBuffer.class);
+
+    private static final UserDataBuffer instance = new UserDataBuffer(FrameworkConfig.current());
+
+    // Fallback generators for callers that find the queue empty
+    private static final ThreadLocal<Faker> callerFaker = ThreadLocal.withInitial(Faker::new);
+
+    private final BlockingQueue<UserRecord> ready;
+    private final int refillThreshold;
+    private final Object refillSignal = new Object();
+    private volatile Thread producer;
+
+    private UserDataBuffer(FrameworkConfig config) {
+        this.ready = new ArrayBlockingQueue<>(config.userBufferDepth());
+        this.refillThreshold = config.userBufferRefillThreshold();
+    }
+
+    public static UserDataBuffer getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts the background producer. Calling it again is a no-op.
+     */
+    public synchronized void start() {
+        if (producer != null) {
+            return;
+        }
+        producer = new Thread(this::produce, "user-data-producer");
+        producer.setDaemon(true);
+        producer.start();
+        logger.info("🧪 User data producer started (depth {}, refill at {})", ready.remainingCapacity(), refillThreshold);
+    }
+
+    public synchronized void stop() {
+        if (producer != null) {
+            producer.interrupt();
+            producer = null;
+        }
+    }
+
+    /**
+     * @return A freshly generated user with a unique email, taken from the buffer when possible.
+     */
+    public UserRecord take() {
+        UserRecord user = ready.poll();
+        if (ready.size() <= refillThreshold) {
+            synchronized (refillSignal) {
+                refillSignal.notifyAll();
+            }
+        }
+        if (user == null) {
+            logger.debug("User data buffer empty, generating on {}", Thread.currentThread().getName());
+            user = generate(callerFaker.get());
+        }
+        return user;
+    }
+
+    private void produce() {
+        // Faker is not thread-safe, so the producer owns its own instance
+        Faker faker = new Faker();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                while (ready.offer(generate(faker))) {
+                    // keep filling until the queue is at capacity
+                }
+                synchronized (refillSignal) {
+                    while (ready.size() > refillThreshold) {
+                        refillSignal.wait();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static UserRecord generate(Faker faker) {
+        String firstName = faker.name().firstName();
+        return new UserRecord(
+            firstName,
+            faker.name().lastName(),
+            UniqueIdGenerator.getInstance().nextEmail(firstName),
+            "Password123",
+            faker.phoneNumber().cellPhone());
+    }
+}
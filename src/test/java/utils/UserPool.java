@@ -0,0 +1,187 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * UserPool holds the registered accounts that scenarios log in with.
+ *
+ * The accounts are kept in an append-only JSON lines store that is read once per
+ * JVM. Every newly registered user is appended as one line, so saving never
+ * rewrites the file. Accounts only exist on the site they were registered on, so
+ * each site has its own store:
+ *  - users.jsonl       : the live site, seeded from the legacy userdata.json the
+ *    first time it is created
+ *  - users-local.jsonl : the local stand-in (baseUrl=local, see {@link LocalSiteServer}),
+ *    not tracked by git
+ *
+ * Worker threads lease an account and return it after the scenario, so parallel
+ * scenarios log in with different accounts. When every account is leased, the
+ * accounts are shared round-robin rather than blocking the worker. A shared account
+ * only becomes available again once its last holder has returned it.
+ */
+public class UserPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPool.class);
+
+    private static final Path STORE_FILE = Paths.get("src/test/resources/testdata/users.jsonl");
+    private static final Path LOCAL_STORE_FILE = Paths.get("src/test/resources/testdata/users-local.jsonl");
+    private static final Path LEGACY_FILE = Paths.get("src/test/resources/testdata/userdata.json");
+
+    // Loaded on first use, once per JVM
+    private static final class Holder {
+        static final UserPool INSTANCE = new UserPool();
+    }
+
+    // email -> account; insertion order keeps the oldest accounts first
+    private final Map<String, UserRecord> accounts = Collections.synchronizedMap(new LinkedHashMap<>());
+    // Accounts not leased by any worker, most recently returned last
+    private final BlockingDeque<UserRecord> available = new LinkedBlockingDeque<>();
+    private final AtomicInteger sharedCursor = new AtomicInteger();
+    // The store of the site under test
+    private final Path store;
+    private final boolean localSite;
+    // email -> number of workers holding the account; guards available as well
+    private final Map<String, Integer> leases = new HashMap<>();
+
+    private UserPool() {
+        // The raw setting: resolving baseUrl would start the local site, which seeds itself from this pool
+        localSite = LocalSiteServer.LOCAL.equalsIgnoreCase(FrameworkConfig.current().get("baseUrl"));
+        store = localSite ? LOCAL_STORE_FILE : STORE_FILE;
+        for (UserRecord user : readStore()) {
+            if (accounts.put(user.getEmail().toLowerCase(), user) == null) {
+                available.addLast(user);
+            }
+        }
+        logger.info("👥 User pool loaded {} registered account(s) from {}", accounts.size(), store);
+    }
+
+    public static UserPool getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Leases a registered account for the current scenario.
+     *
+     * @return The leased account, or null if the pool has no accounts at all.
+     */
+    public UserRecord lease() {
+        synchronized (leases) {
+            UserRecord user = available.pollFirst();
+            if (user != null) {
+                leases.merge(user.getEmail().toLowerCase(), 1, Integer::sum);
+                return user;
+            }
+            List<UserRecord> shared = new ArrayList<>(all());
+            if (shared.isEmpty()) {
+                return null;
+            }
+            user = shared.get(Math.floorMod(sharedCursor.getAndIncrement(), shared.size()));
+            int holders = leases.merge(user.getEmail().toLowerCase(), 1, Integer::sum);
+            logger.warn("👥 All {} account(s) are leased, sharing {} ({} holders)", accounts.size(), user.getEmail(), holders);
+            return user;
+        }
+    }
+
+    /**
+     * Returns a leased account to the pool. A shared account stays leased until
+     * every worker holding it has returned it.
+     */
+    public void release(UserRecord user) {
+        if (user == null) {
+            return;
+        }
+        String key = user.getEmail().toLowerCase();
+        synchronized (leases) {
+            Integer holders = leases.get(key);
+            if (holders != null && holders > 1) {
+                leases.put(key, holders - 1);
+                return;
+            }
+            leases.remove(key);
+            if (accounts.containsKey(key) && !available.contains(user)) {
+                available.addLast(user);
+            }
+        }
+    }
+
+    /**
+     * Adds a newly registered account and appends it to the store. The caller keeps
+     * it leased until it calls {@link #release(UserRecord)}.
+     */
+    public void add(UserRecord user) {
+        String key = user.getEmail().toLowerCase();
+        if (accounts.putIfAbsent(key, user) != null) {
+            return;
+        }
+        synchronized (leases) {
+            leases.put(key, 1);
+        }
+        append(user);
+        logger.info("✅ User data saved successfully: {}", user.getEmail());
+    }
+
+    /**
+     * @return A snapshot of every known account, e.g. to seed a local site.
+     */
+    public Collection<UserRecord> all() {
+        synchronized (accounts) {
+            return new ArrayList<>(accounts.values());
+        }
+    }
+
+    // ====== Store ======
+
+    private List<UserRecord> readStore() {
+        List<UserRecord> users = new ArrayList<>();
+        try {
+            if (!Files.exists(store) && !localSite) {
+                seedFromLegacyFile();
+            }
+            if (Files.exists(store)) {
+                for (String line : Files.readAllLines(store, StandardCharsets.UTF_8)) {
+                    if (!line.isBlank()) {
+                        users.add(UserRecord.fromJson(line));
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("❌ Could not read user store {}: {}", store, e.getMessage());
+        }
+        return users;
+    }
+
+    private void seedFromLegacyFile() throws IOException {
+        if (Files.exists(LEGACY_FILE)) {
+            String json = new String(Files.readAllBytes(LEGACY_FILE), StandardCharsets.UTF_8);
+            append(UserRecord.fromJson(json));
+        }
+    }
+
+    private synchronized void append(UserRecord user) {
+        try {
+            Files.createDirectories(store.getParent());
+            Files.write(store, (user.toJson() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            logger.error("❌ Could not append {} to {}: {}", user.getEmail(), store, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package utils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * UserProvisioner registers accounts by posting the registration form over HTTP, without a browser.
+ *
+ * Every account gets its own session: the register page is fetched first for the
+ * session cookie, then the form is posted with that cookie. The site answers a
+ * successful registration with a redirect to account/success. Provisioned
+ * accounts are added to the {@link UserPool}.
+ *
+ * Set provisionUsersAtStart in config.properties to create a batch in @BeforeAll;
+ * provisionConcurrency limits how many registrations run at once.
+ */
+public class UserProvisioner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserProvisioner.class);
+
+    private static final String REGISTER_ROUTE = "/index.php?route=account/register";
+    private static final String SUCCESS_ROUTE = "route=account/success";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    // Redirects are inspected, not followed: the redirect target tells success from failure
+    private static final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(TIMEOUT)
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .build();
+
+    private UserProvisioner() {
+    }
+
+    /**
+     * Creates the number of users configured by provisionUsersAtStart, if any.
+     */
+    public static void provisionAtStart() {
+        int count = FrameworkConfig.current().provisionUsersAtStart();
+        if (count > 0) {
+            provision(count);
+        }
+    }
+
+    /**
+     * Registers the given number of new users in parallel and releases them into the user pool.
+     *
+     * @return The users that were registered successfully.
+     */
+    public static List<UserRecord> provision(int count) {
+        if (count <= 0) {
+            return new ArrayList<>();
+        }
+        FrameworkConfig config = FrameworkConfig.current();
+        String baseUrl = config.baseUrl();
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(count, config.provisionConcurrency()));
+        List<CompletableFuture<UserRecord>> pending = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                UserRecord user = UserDataBuffer.getInstance().take();
+                pending.add(CompletableFuture.supplyAsync(() -> register(baseUrl, user) ? user : null, executor));
+            }
+            List<UserRecord> registered = new ArrayList<>();
+            for (CompletableFuture<UserRecord> future : pending) {
+                UserRecord user = future.join();
+                if (user != null) {
+                    UserPool.getInstance().add(user);
+                    UserPool.getInstance().release(user);
+                    registered.add(user);
+                }
+            }
+            logger.info("👥 Provisioned {}/{} user(s) over HTTP in {} ms", registered.size(), count,
+                (System.nanoTime() - start) / 1_000_000);
+            return registered;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Registers one user.
+     *
+     * @return true if the site accepted the registration.
+     */
+    public static boolean register(String baseUrl, UserRecord user) {
+        URI registerUri = URI.create(baseUrl + REGISTER_ROUTE);
+        try {
+            HttpResponse<Void> page = client.send(
+                HttpRequest.newBuilder(registerUri).timeout(TIMEOUT).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+            String cookies = cookiesOf(page);
+
+            Map<String, String> form = new LinkedHashMap<>();
+            form.put("firstname", user.getFirstName());
+            form.put("lastname", user.getLastName());
+            form.put("email", user.getEmail());
+            form.put("telephone", user.getPhone());
+            form.put("password", user.getPassword());
+            form.put("confirm", user.getPassword());
+            form.put("newsletter", "0");
+            form.put("agree", "1");
+
+            HttpRequest.Builder post = HttpRequest.newBuilder(registerUri)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(encode(form)));
+            if (!cookies.isEmpty()) {
+                post.header("Cookie", cookies);
+            }
+            HttpResponse<Void> response = client.send(post.build(), HttpResponse.BodyHandlers.discarding());
+
+            String location = response.headers().firstValue("Location").orElse("");
+            if (response.statusCode() / 100 == 3 && location.contains(SUCCESS_ROUTE)) {
+                return true;
+            }
+            logger.warn("❌ Registration of {} was rejected (HTTP {})", user.getEmail(), response.statusCode());
+        } catch (IOException e) {
+            logger.warn("❌ Registration of {} failed: {}", user.getEmail(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    // name=value pairs of every Set-Cookie header, ready for a Cookie request header
+    private static String cookiesOf(HttpResponse<?> response) {
+        StringJoiner cookies = new StringJoiner("; ");
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            cookies.add(header.split(";", 2)[0].trim());
+        }
+        return cookies.toString();
+    }
+
+    private static String encode(Map<String, String> form) {
+        StringJoiner body = new StringJoiner("&");
+        for (Map.Entry<String, String> field : form.entrySet()) {
+            body.add(URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8));
+        }
+        return body.toString();
+    }
+}
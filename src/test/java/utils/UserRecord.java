@@ -0,0 +1,56 @@
+package utils;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * UserRecord is one immutable set of user details, e.g. an account in the {@link UserPool}.
+ */
+public final class UserRecord {
+
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String password;
+    private final String phone;
+
+    public UserRecord(String firstName, String lastName, String email, String password, String phone) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.password = password;
+        this.phone = phone;
+    }
+
+    /**
+     * Parses one JSON object as written by {@link #toJson()}.
+     */
+    public static UserRecord fromJson(String json) {
+        JsonObject object = JsonParser.parseString(json).getAsJsonObject();
+        return new UserRecord(
+            object.get("firstName").getAsString(),
+            object.get("lastName").getAsString(),
+            object.get("email").getAsString(),
+            object.get("password").getAsString(),
+            object.get("phone").getAsString());
+    }
+
+    /**
+     * @return The record as a single-line JSON object.
+     */
+    public String toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("firstName", firstName);
+        json.addProperty("lastName", lastName);
+        json.addProperty("email", email);
+        json.addProperty("password", password);
+        json.addProperty("phone", phone);
+        return json.toString();
+    }
+
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getEmail() { return email; }
+    public String getPassword() { return password; }
+    public String getPhone() { return phone; }
+}
@@ -0,0 +1,176 @@
+package utils;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * WaitEngine is the single explicit-wait implementation shared by TestBase and the page objects.
+ *
+ * Unlike a new WebDriverWait per call with one condition per wait, a composite
+ * condition (e.g. present + visible + enabled) is evaluated in one poll loop.
+ * The first check runs immediately; after that the poll interval starts small
+ * and backs off towards a ceiling, so fast elements cost a single round trip
+ * while slow ones do not hammer a remote grid.
+ *
+ * Polling is configured in config.properties:
+ *  - waitPollInitialMillis (default 50)
+ *  - waitPollMaxMillis     (default 500)
+ *  - waitPollBackoff       (default 1.5)
+ */
+public class WaitEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitEngine.class);
+
+    private static final WaitEngine instance = new WaitEngine();
+
+    // Duration of the most recent wait on this thread, for callers that want to report it
+    private static final ThreadLocal<Long> lastWaitMillis = ThreadLocal.withInitial(() -> 0L);
+
+    private final long initialPollMillis;
+    private final long maxPollMillis;
+    private final double backoff;
+
+    private WaitEngine() {
+        FrameworkConfig config = FrameworkConfig.current();
+        this.initialPollMillis = config.waitPollInitialMillis();
+        this.maxPollMillis = config.waitPollMaxMillis();
+        this.backoff = config.waitPollBackoff();
+    }
+
+    public static WaitEngine getInstance() {
+        return instance;
+    }
+
+    /**
+     * Polls the condition until it returns a non-null value other than Boolean.FALSE.
+     * NotFoundException and StaleElementReferenceException count as "not yet".
+     *
+     * @param driver       The driver the condition is evaluated against.
+     * @param condition    Condition to evaluate, may combine several checks.
+     * @param timeoutInSec Timeout in seconds.
+     * @param description  A readable description for logging.
+     * @return The first truthy value returned by the condition.
+     * @throws TimeoutException if the condition is not met in time.
+     */
+    public <T> T until(WebDriver driver, Function<? super WebDriver, T> condition, int timeoutInSec, String description) {
+        long start = System.nanoTime();
+        long startCommands = CommandTracer.commandsOnThread();
+        long deadline = start + timeoutInSec * 1_000_000_000L;
+        long pollMillis = initialPollMillis;
+        int polls = 0;
+        RuntimeException lastError = null;
+
+        while (true) {
+            polls++;
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    report(description, start, startCommands, polls, true);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000L;
+            if (remainingMillis <= 0) {
+                report(description, start, startCommands, polls, false);
+                throw new TimeoutException("Timed out after " + timeoutInSec + "s waiting for " + description, lastError);
+            }
+            sleep(Math.min(pollMillis, remainingMillis));
+            pollMillis = Math.min(maxPollMillis, Math.max(pollMillis + 1, (long) (pollMillis * backoff)));
+        }
+    }
+
+    /**
+     * @return How long the most recent wait on the current thread took, in milliseconds.
+     */
+    public static long lastWaitMillis() {
+        return lastWaitMillis.get();
+    }
+
+    // ====== Composite conditions ======
+
+    /** Element located by the locator exists in the DOM. */
+    public static Function<WebDriver, WebElement> present(By locator) {
+        return driver -> driver.findElement(locator);
+    }
+
+    /** Element is displayed. */
+    public static Function<WebDriver, WebElement> visible(WebElement element) {
+        return driver -> element.isDisplayed() ? element : null;
+    }
+
+    /** Element is displayed and enabled, checked together in one poll. */
+    public static Function<WebDriver, WebElement> clickable(WebElement element) {
+        return driver -> element.isDisplayed() && element.isEnabled() ? element : null;
+    }
+
+    /**
+     * Element is present, displayed and enabled, checked together in one poll. An {@link ElementHandle}
+     * resolves through its locator, so an element that does not exist yet is just "not yet".
+     * The hover runs once inside the loop, as soon as the element exists, if hoverFirst is set
+     * or the element is hidden.
+     */
+    public static Function<WebDriver, WebElement> clickable(WebElement element, boolean hoverFirst,
+                                                            Consumer<WebElement> hover) {
+        boolean[] hovered = {false};
+        return driver -> {
+            boolean displayed = element.isDisplayed();
+            if (!hovered[0] && (hoverFirst || !displayed)) {
+                hovered[0] = true;
+                hover.accept(element);
+                displayed = element.isDisplayed();
+            }
+            return displayed && element.isEnabled() ? element : null;
+        };
+    }
+
+    /** At least one element matches the locator and all matches are displayed. */
+    public static Function<WebDriver, List<WebElement>> allVisible(By locator) {
+        return driver -> {
+            List<WebElement> elements = driver.findElements(locator);
+            if (elements.isEmpty()) {
+                return null;
+            }
+            for (WebElement element : elements) {
+                if (!element.isDisplayed()) {
+                    return null;
+                }
+            }
+            return elements;
+        };
+    }
+
+    private void report(String description, long startNanos, long startCommands, int polls, boolean success) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long elapsedMillis = elapsedNanos / 1_000_000L;
+        lastWaitMillis.set(elapsedMillis);
+        TimingRegistry.record(TimingRegistry.WAIT, description, elapsedNanos,
+                CommandTracer.commandsOnThread() - startCommands);
+        if (success) {
+            logger.info("⏱️ Waited {} ms for {} ({} polls)", elapsedMillis, description, polls);
+        } else {
+            logger.warn("⏱️ Gave up after {} ms waiting for {} ({} polls)", elapsedMillis, description, polls);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+}